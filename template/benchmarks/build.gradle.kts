@@ -0,0 +1,112 @@
+import groovy.json.JsonSlurper
+
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+repositories {
+    mavenCentral()
+}
+
+// Utils picks its logger per version, so both apis are available.
+dependencies {
+    implementation("org.apache.logging.log4j:log4j-api:2.24.3")
+    implementation("org.slf4j:slf4j-api:2.0.17")
+}
+
+// Only the eternal classes that do not touch Minecraft or a loader are benchmarked, they are compiled against the stand-ins in src/main/java
+// so this runs offline without setting up any version.
+val eternalSources =
+    tasks.register("copyEternalSources", Sync::class) {
+        group = "eternal-impl"
+        from("../src/main/java") {
+            include("**/eternal/Events.java")
+            include("**/eternal/Log.java")
+            include("**/eternal/Utils.java")
+            include("**/eternal/events/Event.java")
+            include("**/eternal/events/ListenerTimings.java")
+            include("**/eternal/events/Networking.java")
+            include("**/eternal/events/ServerLifecycle.java")
+            include("**/eternal/events/Ticks.java")
+            include("**/eternal/reflection/**")
+        }
+        into(layout.buildDirectory.dir("generated/eternal"))
+    }
+
+sourceSets.main {
+    java.srcDir(eternalSources)
+}
+
+// The same sources run on Java 8 for the old versions.
+tasks.withType<JavaCompile> {
+    options.release = 8
+}
+
+val benchmarkResults = layout.buildDirectory.file("results/jmh/results.json")
+val baselineFile = layout.projectDirectory.file("baseline.json")
+
+jmh {
+    resultFormat = "JSON"
+    resultsFile = benchmarkResults
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    timeUnit = "ns"
+    benchmarkMode = listOf("avgt")
+    providers.gradleProperty("benchmarks.includes").orNull?.let { includes = it.split(",") }
+}
+
+fun readScores(file: File): Map<String, Pair<Double, Double>> {
+    @Suppress("UNCHECKED_CAST")
+    val runs = JsonSlurper().parse(file) as List<Map<String, Any?>>
+    return runs.associate { run ->
+        @Suppress("UNCHECKED_CAST")
+        val params = (run["params"] as Map<String, Any?>?).orEmpty()
+        @Suppress("UNCHECKED_CAST")
+        val metric = run["primaryMetric"] as Map<String, Any?>
+        val key = run["benchmark"].toString() + if (params.isEmpty()) "" else params.entries.joinToString(", ", " (", ")") { "${it.key}=${it.value}" }
+        key to ((metric["score"] as Number).toDouble() to ((metric["scoreError"] as? Number)?.toDouble()?.takeIf { !it.isNaN() } ?: 0.0))
+    }
+}
+
+tasks.register("compareBenchmarks") {
+    group = "eternal"
+    description = "Runs the benchmarks and fails if any is slower than baseline.json by more than -Pbenchmarks.tolerance percent, 10 by default."
+
+    val tolerance = providers.gradleProperty("benchmarks.tolerance").map { it.toDouble() }.getOrElse(10.0)
+    dependsOn("jmh")
+
+    doLast {
+        val baseline = baselineFile.asFile
+        if (!baseline.exists())
+            throw GradleException("No baseline at ${baseline.absolutePath}, create one on the machine that runs this check with updateBenchmarkBaseline.")
+        val expected = readScores(baseline)
+        val actual = readScores(benchmarkResults.get().asFile)
+        val regressions = ArrayList<String>()
+        for ((benchmark, score) in actual.toSortedMap()) {
+            val previous = expected[benchmark]
+            if (previous == null) {
+                println("   new $benchmark: %.3f ns/op".format(score.first))
+                continue
+            }
+            val change = (score.first - previous.first) / previous.first * 100
+            // Only counts as a regression when the difference is bigger than the measurement error of both runs.
+            val regressed = change > tolerance && score.first - score.second > previous.first + previous.second
+            println("%s %s: %.3f -> %.3f ns/op (%+.1f%%)".format(if (regressed) " SLOW" else "   ok", benchmark, previous.first, score.first, change))
+            if (regressed) regressions.add("$benchmark is %.1f%% slower".format(change))
+        }
+        if (regressions.isNotEmpty())
+            throw GradleException("${regressions.size} benchmarks regressed by more than $tolerance%:\n" + regressions.joinToString("\n"))
+    }
+}
+
+tasks.register("updateBenchmarkBaseline", Copy::class) {
+    group = "eternal"
+    description = "Runs the benchmarks and stores the results as the baseline compareBenchmarks checks against."
+
+    dependsOn("jmh")
+    from(benchmarkResults)
+    into(layout.projectDirectory)
+    rename { "baseline.json" }
+}
@@ -0,0 +1,92 @@
+package com.author.example_mod.benchmarks;
+
+import com.author.example_mod.eternal.Events;
+import com.author.example_mod.eternal.events.Event;
+import com.author.example_mod.eternal.events.ListenerTimings;
+import com.author.example_mod.eternal.events.Networking;
+import com.author.example_mod.eternal.events.Ticks;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Registering callbacks and firing a server tick {@link Event} built by {@link Ticks}, with and without per callback timing,
+ * and firing the cancellable message event of {@link Networking} with every callback passing or the highest priority one cancelling.
+ */
+@State(Scope.Thread)
+public class EventBenchmark {
+    @Param({"1", "8", "64"})
+    public int callbacks;
+
+    private final MinecraftServer server = new MinecraftServer();
+    private Event<Ticks.ServerTickCallback> event;
+    private Ticks.ServerTickCallback[] toRegister;
+
+    private final ServerPlayerEntity player = new ServerPlayerEntity();
+    private final DataInputStream data = new DataInputStream(new ByteArrayInputStream(new byte[16]));
+    private Event<Networking.ServerMessageCallback> passing;
+    private Event<Networking.ServerMessageCallback> cancelled;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        toRegister = new Ticks.ServerTickCallback[callbacks];
+        for (int i = 0; i < callbacks; i++)
+            toRegister[i] = blackhole::consume;
+        event = Ticks.createServerEvent("benchmark", true);
+        for (int i = 0; i < callbacks; i++)
+            event.register(toRegister[i], Events.Priority.values()[i % Events.Priority.values().length]);
+
+        passing = Networking.createServerEvent();
+        cancelled = Networking.createServerEvent();
+        // Registered first, so it runs before the other highest priority callbacks.
+        cancelled.register((player, type, data) -> Events.Result.CANCEL, Events.Priority.HIGHEST);
+        for (int i = 0; i < callbacks; i++) {
+            Networking.ServerMessageCallback callback = (player, type, data) -> {
+                blackhole.consume(type);
+                return Events.Result.PASS;
+            };
+            passing.register(callback, Events.Priority.values()[i % Events.Priority.values().length]);
+            cancelled.register(callback, Events.Priority.values()[i % Events.Priority.values().length]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ListenerTimings.enabled = false;
+    }
+
+    @Benchmark
+    public void dispatch() {
+        ListenerTimings.enabled = false;
+        event.invoker().onTick(server);
+    }
+
+    @Benchmark
+    public void dispatchTimed() {
+        ListenerTimings.enabled = true;
+        event.invoker().onTick(server);
+    }
+
+    @Benchmark
+    public Events.Result dispatchPassing() throws IOException {
+        return passing.invoker().onMessage(player, "benchmark", data);
+    }
+
+    @Benchmark
+    public Events.Result dispatchCancelled() throws IOException {
+        return cancelled.invoker().onMessage(player, "benchmark", data);
+    }
+
+    @Benchmark
+    public Event<Ticks.ServerTickCallback> registerAll() {
+        Event<Ticks.ServerTickCallback> fresh = Ticks.createServerEvent("benchmark registration", true);
+        for (int i = 0; i < toRegister.length; i++)
+            fresh.register(toRegister[i], Events.Priority.values()[i % Events.Priority.values().length]);
+        return fresh;
+    }
+}
@@ -0,0 +1,45 @@
+package com.author.example_mod.benchmarks;
+
+import com.author.example_mod.eternal.reflection.QueryResult;
+import com.author.example_mod.eternal.reflection.ReflectionIndex;
+import com.author.example_mod.eternal.reflection.ReflectionQuery;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Parsing queries and answering them from a warm index, the wildcard query matches the stand-ins under net.minecraft.
+ */
+@State(Scope.Thread)
+public class ReflectionQueryBenchmark {
+    @Param({
+            "CHECK CLASS (java.util.ArrayList java.util.Missing)",
+            "CHECK INSTANCE_METHOD java.util.ArrayList (add remove) (java.lang.Object)",
+            "FIND (INSTANCE_METHOD INHERITED) java.util.ArrayList boolean",
+            "FIND STATIC_METHOD net.minecraft.** net.minecraft.text.Text (String)"
+    })
+    public String query;
+
+    private ReflectionIndex index;
+    private ReflectionQuery parsed;
+
+    @Setup
+    public void setup() throws IOException {
+        System.setProperty("eternal.reflection.indexDir", Files.createTempDirectory("reflection-index").toString());
+        index = ReflectionIndex.open(ReflectionIndex.isolatedClassLoader());
+        parsed = ReflectionQuery.parse(query);
+        parsed.execute(index);
+    }
+
+    @Benchmark
+    public ReflectionQuery parse() {
+        return ReflectionQuery.parse(query);
+    }
+
+    @Benchmark
+    public List<QueryResult> execute() {
+        return parsed.execute(index);
+    }
+}
@@ -0,0 +1,29 @@
+package com.author.example_mod.benchmarks;
+
+import com.author.example_mod.eternal.Utils;
+import net.minecraft.text.Text;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Text and JSON string creation, Text is a stand-in here so this only covers the eternal side of the call.
+ */
+@State(Scope.Thread)
+public class TextBenchmark {
+    private final String plain = "Started timing tick callbacks.";
+    private final String escaped = "line \"one\"\n\tline \\two\\";
+
+    @Benchmark
+    public Text literalText() {
+        return Utils.literalText(plain);
+    }
+
+    @Benchmark
+    public String jsonStringPlain() {
+        return Utils.jsonString(plain);
+    }
+
+    @Benchmark
+    public String jsonStringEscaped() {
+        return Utils.jsonString(escaped);
+    }
+}
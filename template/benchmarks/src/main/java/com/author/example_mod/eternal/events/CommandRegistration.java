@@ -0,0 +1,18 @@
+package com.author.example_mod.eternal.events;
+
+/**
+ * Stand-in with the same event as the real one but without Brigadier or a loader bridge, the benchmarks never fire it.
+ */
+public class CommandRegistration {
+    @FunctionalInterface
+    public interface CommandRegistrationCallback {
+        void run(Object dispatcher, Object environment);
+    }
+
+    public static Event<CommandRegistrationCallback> createEvent() {
+        return new Event<>(CommandRegistrationCallback.class, callbacks -> (dispatcher, environment) -> {
+            for (CommandRegistrationCallback callback : callbacks)
+                callback.run(dispatcher, environment);
+        }, null);
+    }
+}
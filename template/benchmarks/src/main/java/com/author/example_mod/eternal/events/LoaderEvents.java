@@ -0,0 +1,15 @@
+package com.author.example_mod.eternal.events;
+
+/**
+ * Stand-in for the loader hooks, the benchmarks fire the events through their invokers so there is nothing to hook up.
+ */
+public class LoaderEvents {
+    static void hookServerTick(boolean start) {
+    }
+
+    static void hookClientTick(boolean start) {
+    }
+
+    static void hookServerStopping() {
+    }
+}
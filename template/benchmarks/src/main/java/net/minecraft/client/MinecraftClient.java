@@ -0,0 +1,7 @@
+package net.minecraft.client;
+
+/**
+ * Stand-in for Minecraft's client, the tick events only pass it along.
+ */
+public class MinecraftClient {
+}
@@ -0,0 +1,7 @@
+package net.minecraft.server;
+
+/**
+ * Stand-in for Minecraft's server, the tick events only pass it along.
+ */
+public class MinecraftServer {
+}
@@ -0,0 +1,16 @@
+package net.minecraft.server.network;
+
+import net.minecraft.text.Text;
+
+/**
+ * Stand-in for Minecraft's player with the two methods Networking calls.
+ */
+public class ServerPlayerEntity {
+    public boolean isDisconnected() {
+        return false;
+    }
+
+    public Text getName() {
+        return Text.literal("player");
+    }
+}
@@ -0,0 +1,16 @@
+package net.minecraft.text;
+
+/**
+ * Stand-in for Minecraft's Text with both factories Utils uses across versions.
+ */
+public interface Text {
+    String getString();
+
+    static Text of(String string) {
+        return literal(string);
+    }
+
+    static Text literal(String string) {
+        return () -> string;
+    }
+}
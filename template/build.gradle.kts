@@ -1,6 +1,14 @@
 import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.net.InetAddress
+import java.net.Socket
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
 import java.util.*
 import java.util.Optional
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.function.BiConsumer
 import java.util.function.Consumer
 import java.util.function.Predicate
@@ -110,16 +118,13 @@ fun optionalVersionProperty(key: String): Optional<VersionRange> {
     return Optional.of(versionProperty(key))
 }
 
-val envFile = project.rootDir.resolve(".env")
-val properties = Properties()
-if (envFile.exists()) {
-    logger.lifecycle("Loading .env file from: ${envFile.absolutePath}")
-    envFile.bufferedReader().use { reader ->
-        properties.load(reader)
+// Reading .env through providers lets the configuration cache notice when it changes, stonecutter.gradle.kts logs where it was found once per build.
+val properties =
+    Properties().apply {
+        providers.fileContents(rootProject.layout.projectDirectory.file(".env")).asText.orNull?.let { contents ->
+            contents.reader().use { reader -> load(reader) }
+        }
     }
-} else {
-    logger.lifecycle(".env file not found at: ${envFile.absolutePath}. Defaulting to production mode.")
-}
 
 val isInDevMode: Boolean = properties.getProperty("IS_DEV_MODE")?.toBoolean() ?: false
 
@@ -156,7 +161,10 @@ class Env {
             EnvType.NEOFORGE
         }
 
-    val javaVersion =
+    // The same few versions are compared against over and over while configuring.
+    private val comparisons = HashMap<String, Int>()
+
+    val javaVersion by lazy {
         if (atMost("1.16.5")) {
             8
         } else if (isExact("1.17.1")) {
@@ -166,26 +174,30 @@ class Env {
         } else {
             21
         }
+    }
 
-    val fabricLoaderVersion = versionProperty("deps.core.fabric.loader.version_range")
-    val forgeMavenVersion = versionProperty("deps.core.forge.version_range")
-    val forgeVersion = VersionRange(extractForgeVer(forgeMavenVersion.min), extractForgeVer(forgeMavenVersion.max))
+    // Only the current loader's versions are ever read, so the rest are never parsed.
+    val fabricLoaderVersion by lazy { versionProperty("deps.core.fabric.loader.version_range") }
+    val forgeMavenVersion by lazy { versionProperty("deps.core.forge.version_range") }
+    val forgeVersion by lazy { VersionRange(extractForgeVer(forgeMavenVersion.min), extractForgeVer(forgeMavenVersion.max)) }
 
     // FML language version is usually the first two numbers only.
-    private val fgl: String = if (isForge) forgeMavenVersion.min.substring(forgeMavenVersion.min.lastIndexOf("-")) else ""
-    val forgeLanguageVersion = VersionRange(if (isForge) fgl.substring(0, fgl.indexOf(".")) else "", "")
-    val neoforgeVersion = versionProperty("deps.core.neoforge.version_range")
+    private val fgl: String by lazy { if (isForge) forgeMavenVersion.min.substring(forgeMavenVersion.min.lastIndexOf("-")) else "" }
+    val forgeLanguageVersion by lazy { VersionRange(if (isForge) fgl.substring(0, fgl.indexOf(".")) else "", "") }
+    val neoforgeVersion by lazy { versionProperty("deps.core.neoforge.version_range") }
 
     // The modloader system is separate from the API in Neo
-    val neoforgeLoaderVersion = versionProperty("deps.core.neoforge.loader.version_range")
+    val neoforgeLoaderVersion by lazy { versionProperty("deps.core.neoforge.loader.version_range") }
+
+    private fun compare(version: String) = comparisons.getOrPut(version) { stonecutter.compare(mcVersion.min, version) }
 
-    fun atLeast(version: String) = stonecutter.compare(mcVersion.min, version) >= 0
+    fun atLeast(version: String) = compare(version) >= 0
 
-    fun atMost(version: String) = stonecutter.compare(mcVersion.min, version) <= 0
+    fun atMost(version: String) = compare(version) <= 0
 
-    fun isNot(version: String) = stonecutter.compare(mcVersion.min, version) != 0
+    fun isNot(version: String) = compare(version) != 0
 
-    fun isExact(version: String) = stonecutter.compare(mcVersion.min, version) == 0
+    fun isExact(version: String) = compare(version) == 0
 
     private fun extractForgeVer(str: String): String {
         val split = str.split("-")
@@ -393,7 +405,7 @@ val dependencies = ModDependencies()
  */
 class SpecialMultiversionedConstants {
     private val mandatoryIndicator = if (env.isNeo && !env.atMost("1.20.2")) "required" else "mandatory"
-    val mixinField =
+    val mixinField by lazy {
         if (env.isNeo) {
             neoForgeMixinField()
         } else if (env.isFabric) {
@@ -401,11 +413,12 @@ class SpecialMultiversionedConstants {
         } else {
             ""
         }
+    }
 
-    val forgelikeLoaderVer = if (env.isForge) env.forgeLanguageVersion.asForgelike() else env.neoforgeLoaderVersion.asForgelike()
-    val forgelikeAPIVer = if (env.isForge) env.forgeVersion.asForgelike() else env.neoforgeVersion.asForgelike()
-    val dependenciesField = if (env.isFabric) fabricDependencyList() else forgelikeDependencyField()
-    val excludes = excludes0()
+    val forgelikeLoaderVer by lazy { if (env.isForge) env.forgeLanguageVersion.asForgelike() else env.neoforgeLoaderVersion.asForgelike() }
+    val forgelikeAPIVer by lazy { if (env.isForge) env.forgeVersion.asForgelike() else env.neoforgeVersion.asForgelike() }
+    val dependenciesField by lazy { if (env.isFabric) fabricDependencyList() else forgelikeDependencyField() }
+    val excludes by lazy { excludes0() }
 
     private fun excludes0(): List<String> {
         val out = arrayListOf<String>()
@@ -492,7 +505,8 @@ class SpecialMultiversionedConstants {
 }
 val mod = ModProperties()
 val modMixins = ModMixins()
-val dynamics = SpecialMultiversionedConstants()
+// Only processResources reads these, so tasks that never configure it skip building the fields.
+val dynamics by lazy { SpecialMultiversionedConstants() }
 
 version = mod.longVersion
 group = mod.group
@@ -592,6 +606,17 @@ loom {
         // $if shared-runs
         runDir = "../../run"
         // $end shared-runs
+        // Set by runAllClientsParallel so concurrent clients never share saves, options or logs
+        optionalStrProperty("eternal.runDir").ifPresent { runDir = it }
+        // eternal's StartupTimings report for this run, gathered by runAllClientsParallel
+        val timingsReport = rootProject.layout.buildDirectory.file("logs/timings/${stonecutter.current.project}-$name.json").get().asFile
+        vmArgs("-Deternal.timings.output=${timingsReport.absolutePath}")
+    }
+
+    runConfigs.getByName("client") {
+        // Where eternal's SelfTest writes its results, testing/processLogs.js reads them from there
+        val selfTestReport = rootProject.layout.buildDirectory.file("logs/selfTest/${stonecutter.current.project}.json").get().asFile
+        vmArgs("-Deternal.selfTest.output=${selfTestReport.absolutePath}")
     }
 }
 
@@ -694,19 +719,206 @@ abstract class ProcessResourcesExtension : ProcessResources() {
             "/data/$id/tags/item",
         )
 
-    override fun copy() {
-        super.copy()
-        val root = destinationDir.absolutePath
-        autoPluralize.forEach { path ->
-            val file = File(root.plus(path))
-            if (file.exists()) {
-                file.copyRecursively(File(file.absolutePath.plus("s")), true)
-                file.deleteRecursively()
+    // Renaming while copying writes every file once at its final path, so the task can stay up-to-date,
+    // moving the folders after the copy rewrote everything each build and left outputs Gradle could not track.
+    init {
+        // Only the prefixes are captured, not the task, so the action can be serialized.
+        val prefixes = autoPluralize.map { it.removePrefix("/") + "/" }
+        eachFile {
+            val prefix = prefixes.firstOrNull { path.startsWith(it) }
+            if (prefix != null) path = prefix.removeSuffix("/") + "s/" + path.removePrefix(prefix)
+        }
+        // Otherwise the now empty singular folders would still be created.
+        includeEmptyDirs = false
+    }
+}
+
+/**
+ * Parses the data JSON (recipes, loot tables, tags...) in parallel and fails the build on malformed files or ones with the wrong shape,
+ * so they do not first show up at game load. The files are written minified for processResources to copy instead of the originals.
+ * Only added and changed files are parsed again, each Stonecutter version keeps its own outputs.
+ * Files still holding the template's TODO placeholder are copied as they are with a warning.
+ */
+@CacheableTask
+abstract class ValidateDataJson : DefaultTask() {
+    @get:Incremental
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val sources: ConfigurableFileCollection
+
+    @get:Input
+    abstract val minify: Property<Boolean>
+
+    /**
+     * Where the tag and recipe index is written inside the output, empty for no index.
+     */
+    @get:Input
+    abstract val indexPath: Property<String>
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    /**
+     * The index entry of every file, so changing one file does not parse all the others again.
+     * An output rather than local state, so it is restored from the build cache together with the index it was written for.
+     */
+    @get:OutputFile
+    abstract val indexCache: RegularFileProperty
+
+    @TaskAction
+    fun validate(changes: InputChanges) {
+        val output = outputDir.get().asFile
+        val cacheFile = indexCache.get().asFile
+        if (!changes.isIncremental) {
+            output.deleteRecursively()
+            cacheFile.delete()
+        }
+        val entries = ConcurrentHashMap<String, Map<String, Any?>>()
+        if (cacheFile.exists()) {
+            @Suppress("UNCHECKED_CAST")
+            entries.putAll(groovy.json.JsonSlurper().parse(cacheFile) as Map<String, Map<String, Any?>>)
+        }
+
+        val changed = arrayListOf<Pair<File, String>>()
+        changes.getFileChanges(sources).forEach { change ->
+            if (change.fileType == FileType.DIRECTORY) return@forEach
+            if (change.changeType == ChangeType.REMOVED) {
+                File(output, change.normalizedPath).delete()
+                entries.remove(change.normalizedPath)
+            } else {
+                changed.add(change.file to change.normalizedPath)
+            }
+        }
+
+        val minify = minify.get()
+        // Text such as item names is written as is, the default generator would turn every non ASCII character into a \u escape.
+        val generator = groovy.json.JsonGenerator.Options().disableUnicodeEscaping().build()
+        val errors = ConcurrentLinkedQueue<String>()
+        val placeholders = ConcurrentLinkedQueue<String>()
+        changed.parallelStream().forEach { (file, path) ->
+            val target = File(output, path)
+            target.parentFile.mkdirs()
+            entries.remove(path)
+            val text = file.readText()
+            if (text.trim() == "TODO DELETE ME!") {
+                placeholders.add(path)
+                file.copyTo(target, true)
+                return@forEach
+            }
+            val json =
+                try {
+                    groovy.json.JsonSlurper().parseText(text)
+                } catch (exception: Exception) {
+                    errors.add("$path: ${exception.message?.lineSequence()?.first()}")
+                    target.delete()
+                    return@forEach
+                }
+            val problem = shapeProblem(path, json)
+            if (problem != null) {
+                errors.add("$path: $problem")
+                target.delete()
+                return@forEach
+            }
+            target.writeText(if (minify) generator.toJson(json) else text)
+            indexEntry(path, json as Map<*, *>)?.let { entries[path] = it }
+        }
+
+        placeholders.sorted().forEach { logger.warn("$it only holds the template placeholder and was copied as is, replace or delete it.") }
+        if (errors.isNotEmpty()) {
+            throw GradleException("${errors.size} data JSON files are invalid:\n" + errors.sorted().joinToString("\n"))
+        }
+
+        cacheFile.parentFile.mkdirs()
+        cacheFile.writeText(generator.toJson(entries))
+        if (indexPath.get().isNotEmpty()) writeIndex(File(output, indexPath.get()), entries.values, generator)
+    }
+
+    /**
+     * Checks the parts the game relies on, null when the file looks fine.
+     */
+    private fun shapeProblem(path: String, json: Any?): String? {
+        if (json !is Map<*, *>) return "a data file must be a JSON object"
+        val segments = path.split("/")
+        if (segments.size < 4 || segments[0] != "data") return null
+        return when (segments[2]) {
+            "tags" -> {
+                val values = json["values"]
+                when {
+                    values !is List<*> -> "a tag needs a \"values\" array"
+                    json["replace"] != null && json["replace"] !is Boolean -> "\"replace\" must be true or false"
+                    values.any { it !is String && (it !is Map<*, *> || it["id"] !is String) } -> "tag values must be ids or objects with an \"id\""
+                    else -> null
+                }
+            }
+            "recipe", "recipes" -> if (json["type"] !is String) "a recipe needs a \"type\"" else null
+            "loot_table", "loot_tables" -> {
+                val pools = json["pools"]
+                when {
+                    pools != null && pools !is List<*> -> "\"pools\" must be an array"
+                    (pools as List<*>?)?.any { it !is Map<*, *> || it["rolls"] == null || it["entries"] !is List<*> } == true ->
+                        "every pool needs \"rolls\" and an \"entries\" array"
+                    else -> null
+                }
             }
+            else -> null
         }
     }
+
+    /**
+     * data/namespace/tags/registry/name.json becomes a tag, data/namespace/recipe/name.json a recipe, anything else is not indexed.
+     */
+    private fun indexEntry(path: String, json: Map<*, *>): Map<String, Any?>? {
+        val segments = path.removeSuffix(".json").split("/")
+        if (segments.size < 4 || segments[0] != "data") return null
+        val namespace = segments[1]
+        return when (segments[2]) {
+            "tags" -> {
+                // Worldgen registries are nested one folder deeper, like tags/worldgen/biome.
+                val registryLength = if (segments[3] == "worldgen") 2 else 1
+                if (segments.size < 4 + registryLength) return null
+                mapOf(
+                    "kind" to "tag",
+                    "registry" to segments.subList(3, 3 + registryLength).joinToString("/"),
+                    "id" to "$namespace:" + segments.drop(3 + registryLength).joinToString("/"),
+                    "values" to (json["values"] as List<*>).map { if (it is Map<*, *>) it["id"] else it },
+                )
+            }
+            "recipe", "recipes" -> mapOf("kind" to "recipe", "type" to json["type"], "id" to "$namespace:" + segments.drop(3).joinToString("/"))
+            else -> null
+        }
+    }
+
+    /**
+     * {"tags": {"item": {"example_mod:gems": ["minecraft:diamond"]}}, "recipes": {"minecraft:crafting_shaped": ["example_mod:gem_block"]}}
+     */
+    private fun writeIndex(file: File, entries: Collection<Map<String, Any?>>, generator: groovy.json.JsonGenerator) {
+        val tags = sortedMapOf<String, MutableMap<String, Any?>>()
+        val recipes = sortedMapOf<String, MutableList<String>>()
+        entries.forEach { entry ->
+            if (entry["kind"] == "tag") {
+                tags.getOrPut(entry["registry"] as String) { sortedMapOf() }[entry["id"] as String] = entry["values"]
+            } else {
+                recipes.getOrPut(entry["type"] as String) { arrayListOf() }.add(entry["id"] as String)
+            }
+        }
+        recipes.values.forEach { it.sort() }
+        file.parentFile.mkdirs()
+        file.writeText(generator.toJson(mapOf("tags" to tags, "recipes" to recipes)))
+    }
 }
 
+val validateDataJson =
+    tasks.register<ValidateDataJson>("validateDataJson") {
+        group = "eternal-impl"
+        description = "Checks and minifies this version's data JSON for processResources."
+
+        sources.from(sourceSets.main.get().resources.srcDirs.map { dir -> fileTree(dir) { include("data/**/*.json") } })
+        minify.set(providers.gradleProperty("resources.json.minify").map { bool(it) }.orElse(true))
+        indexPath.set(providers.gradleProperty("resources.json.indexes").map { if (bool(it)) "eternal/${mod.id}/index.json" else "" }.orElse(""))
+        outputDir.set(layout.buildDirectory.dir("generated/eternal/data-json"))
+        indexCache.set(layout.buildDirectory.file("tmp/validateDataJson/index-cache.json"))
+    }
+
 if (env.atMost("1.20.6")) {
     tasks.replace("processResources", ProcessResourcesExtension::class)
 }
@@ -749,42 +961,93 @@ tasks.processResources {
     filesMatching("META-INF/mods.toml") { expand(map) }
     filesMatching("META-INF/neoforge.mods.toml") { expand(map) }
     modMixins.getMixins(env.type).forEach { str -> filesMatching(str) { expand(map) } }
-}
 
-// Copy the created jars over to a central location, so you don't have to dig through all those folders *every time*.
-tasks.register("moveJars", Copy::class) {
-    val fromFolder = layout.buildDirectory.dir("libs").get()
-    from(fromFolder)
-    val toFolder = layout.projectDirectory.dir("../../build/libs")
-    into(toFolder)
-    val fileName = mod.fileName
-    include(fileName)
-    doLast {
-        delete(fromFolder.file(fileName))
-        println("Moved $fileName from $fromFolder to $toFolder")
+    // The data JSON is copied from validateDataJson, checked and minified, instead of straight from the sources.
+    from(validateDataJson)
+    val validatedDir = validateDataJson.flatMap { it.outputDir }.map { it.asFile }
+    eachFile {
+        if (path.startsWith("data/") && path.endsWith(".json") && !file.startsWith(validatedDir.get())) exclude()
     }
 }
 
+// Link the created jars into a central location, so you don't have to dig through all those folders *every time*.
+// The jar stays where it was built so the build stays up-to-date, the shared folder gets a hard link or a copy when linking fails,
+// moved into place atomically. The checksum is recorded for collectArtifacts which writes the manifest of every version.
+val collectJar =
+    tasks.register("collectJar") {
+        group = "eternal-impl"
+        description = "Links this version's jar into the shared build/libs folder and records its checksum."
+
+        val jar = tasks.remapJar.flatMap { it.archiveFile }
+        val target = jar.map { rootProject.layout.buildDirectory.file("libs/${it.asFile.name}").get() }
+        val artifact = layout.buildDirectory.file("collect/artifact.json")
+        val version = stonecutter.current.project
+        val loader = env.loader
+        val minecraft = env.mcVersion.min
+        inputs.file(jar)
+        outputs.file(target)
+        outputs.file(artifact)
+
+        doLast {
+            val source = jar.get().asFile.toPath()
+            val destination = target.get().asFile.toPath()
+            Files.createDirectories(destination.parent)
+            val temp = destination.resolveSibling("${destination.fileName}.tmp")
+            Files.deleteIfExists(temp)
+            try {
+                Files.createLink(temp, source)
+            } catch (exception: Exception) {
+                // Other file systems or drives can not be linked across.
+                Files.copy(source, temp)
+            }
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+
+            val digest = MessageDigest.getInstance("SHA-256")
+            Files.newInputStream(source).use { input ->
+                val buffer = ByteArray(1 shl 16)
+                while (true) {
+                    val read = input.read(buffer)
+                    if (read < 0) break
+                    digest.update(buffer, 0, read)
+                }
+            }
+            val entry =
+                mapOf(
+                    "version" to version,
+                    "loader" to loader,
+                    "minecraft" to minecraft,
+                    "file" to destination.fileName.toString(),
+                    "size" to Files.size(source),
+                    "sha256" to digest.digest().joinToString("") { "%02x".format(it) },
+                )
+            artifact.get().asFile.also { it.parentFile.mkdirs() }.writeText(groovy.json.JsonOutput.toJson(entry))
+            println("Collected ${destination.fileName} into ${destination.parent}")
+        }
+    }
+
 tasks.clean {
     delete(layout.projectDirectory.dir("../../build/libs"))
 }
 
 tasks.build {
-    finalizedBy(tasks.getByName("moveJars"))
+    finalizedBy(collectJar)
 }
 
+// Shared by the checkReflection task and the reflection server so neither has to reach into the other.
+val reflectionClasspath =
+    rootProject.layout.buildDirectory.get().let { rootBuildDir ->
+        files(rootBuildDir.dir("classes/kotlin/main"), rootBuildDir.dir("resources/main"), sourceSets.main.get().runtimeClasspath)
+    }
+
 val checkReflectionTask = tasks.register<JavaExec>("checkReflection ${stonecutter.current.project}") {
     group = "eternal-impl"
     description = "Checks for existence of classes, fields, and methods in this version's compiled code."
 
-    val rootBuildDir = rootProject.layout.buildDirectory.get()
-    val buildSrcClassesDir = rootBuildDir.dir("classes/kotlin/main")
-    classpath += files(buildSrcClassesDir)
-    val buildSrcResourcesDir = rootBuildDir.dir("resources/main")
-    classpath += files(buildSrcResourcesDir)
-    classpath += sourceSets.main.get().runtimeClasspath
+    classpath += reflectionClasspath
 
     mainClass.set("com.author.example_mod.eternal.ReflectionHelper")
+    // Scanned classes are cached here per classpath hash, so repeat queries skip class loading.
+    systemProperty("eternal.reflection.indexDir", layout.buildDirectory.dir("reflection-index").get().asFile.absolutePath)
 
     val outputStream = ByteArrayOutputStream()
 
@@ -801,6 +1064,91 @@ val checkReflectionTask = tasks.register<JavaExec>("checkReflection ${stonecutte
     }
 }
 
+val reflectionIndexDir = layout.buildDirectory.dir("reflection-index").get().asFile
+val reflectionServerPortFile = File(reflectionIndexDir, "server.port")
+
+tasks.register("startReflectionServer ${stonecutter.current.project}") {
+    group = "eternal-impl"
+    description = "Starts a background reflection server for this version, queries can then be sent over its socket."
+
+    // The action only uses these values and providers, never the script or the checkReflection task, so it works with the configuration cache.
+    val version = stonecutter.current.project
+    val indexDir = reflectionIndexDir
+    val portFile = reflectionServerPortFile
+    val launcher = checkReflectionTask.flatMap { it.javaLauncher }
+    val serverMainClass = checkReflectionTask.flatMap { it.mainClass }
+    val serverClasspath = reflectionClasspath
+    inputs.files(serverClasspath)
+
+    doLast {
+        // The port file holds the port and the token, the server only counts as running if it also accepts connections.
+        fun runningPort(): Int? {
+            val lines = if (portFile.exists()) portFile.readLines() else return null
+            val port = lines.getOrNull(0)?.trim()?.toIntOrNull() ?: return null
+            if (lines.getOrNull(1) == null) return null
+            return try {
+                Socket(InetAddress.getLoopbackAddress(), port).close()
+                port
+            } catch (e: IOException) {
+                null
+            }
+        }
+
+        val runningPort = runningPort()
+        if (runningPort != null) {
+            println("Reflection server for $version is already running on port $runningPort")
+            return@doLast
+        }
+        portFile.delete()
+        indexDir.mkdirs()
+
+        val command =
+            listOf(
+                launcher.get().executablePath.asFile.absolutePath,
+                "-Deternal.reflection.indexDir=${indexDir.absolutePath}",
+                "-cp",
+                serverClasspath.asPath,
+                serverMainClass.get(),
+                "SERVE",
+            )
+        ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(File(indexDir, "server.log"))
+            .start()
+
+        val deadline = System.currentTimeMillis() + 60_000
+        while (runningPort() == null) {
+            if (System.currentTimeMillis() > deadline) {
+                throw GradleException("Reflection server for $version did not start, see ${File(indexDir, "server.log")}")
+            }
+            Thread.sleep(100)
+        }
+        println("Reflection server for $version listening on port ${runningPort()}")
+    }
+}
+
+tasks.register("stopReflectionServer ${stonecutter.current.project}") {
+    group = "eternal-impl"
+    description = "Stops this version's background reflection server."
+
+    val version = stonecutter.current.project
+    val portFile = reflectionServerPortFile
+
+    doLast {
+        val lines = if (portFile.exists()) portFile.readLines().map { it.trim() } else return@doLast
+        val port = lines.getOrNull(0)?.toIntOrNull() ?: return@doLast
+        val token = lines.getOrNull(1) ?: return@doLast
+        try {
+            Socket(InetAddress.getLoopbackAddress(), port).use { socket ->
+                socket.getOutputStream().write("$token\nSHUTDOWN\n".toByteArray())
+            }
+            println("Stopped reflection server for $version")
+        } catch (e: IOException) {
+            println("Reflection server for $version is not running")
+        }
+    }
+}
+
 // TODO: Enable auto-publishing.
 
 /*publishMods {
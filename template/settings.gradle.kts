@@ -41,4 +41,15 @@ stonecutter {
     }
 }
 
+// Gradle's build cache is kept next to the project, so cacheable tasks such as compileJava can load their outputs from it
+// after a clean or a branch switch instead of running again.
+buildCache {
+    local {
+        directory = File(rootDir, ".gradle/build-cache")
+    }
+}
+
 rootProject.name = extra["mod.id"] as String
+
+// JMH benchmarks of the Minecraft free parts of the eternal library, see benchmarks/build.gradle.kts.
+include("benchmarks")
@@ -1,6 +1,8 @@
 package com.author.example_mod.client;
 
+import com.author.example_mod.eternal.SelfTest;
 import com.author.example_mod.eternal.Utils;
+import net.minecraft.client.gui.screen.TitleScreen;
 //? if neoforge {
 /*import net.neoforged.fml.ModContainer;
 import net.neoforged.bus.api.IEventBus;
@@ -23,5 +25,11 @@ public class ExampleModClient {
     /*public static void init(FMLClientSetupEvent event, IEventBus eventBus, FMLJavaModLoadingContext context) {
     *///?}
         Utils.LOGGER.info("Hello from the client side!");
+
+        SelfTest.register(SelfTest.Stage.CLIENT_INIT, "ClientSide", context -> true);
+        // Reaching the title screen stage at all means TitleScreenMixin was applied.
+        SelfTest.register(SelfTest.Stage.TITLE_SCREEN, "Mixins", context -> true);
+        SelfTest.register(SelfTest.Stage.TITLE_SCREEN, "AWs", context -> ((TitleScreen) context).client != null);
+        SelfTest.reach(SelfTest.Stage.CLIENT_INIT, null);
     }
 }
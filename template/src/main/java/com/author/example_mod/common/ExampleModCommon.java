@@ -1,6 +1,8 @@
 package com.author.example_mod.common;
 
+import com.author.example_mod.eternal.SelfTest;
 import com.author.example_mod.eternal.Utils;
+import com.author.example_mod.eternal.events.TickTimingsCommand;
 //? if neoforge {
 /*import net.neoforged.fml.ModContainer;
 import net.neoforged.bus.api.IEventBus;
@@ -23,5 +25,9 @@ public class ExampleModCommon {
     /*public static void init(FMLCommonSetupEvent event, IEventBus eventBus, FMLJavaModLoadingContext context) {
     *///?}
         Utils.LOGGER.info("Hello from the common side!");
+        TickTimingsCommand.register();
+
+        SelfTest.register(SelfTest.Stage.COMMON_INIT, "CommonSide", context -> true);
+        SelfTest.reach(SelfTest.Stage.COMMON_INIT, null);
     }
 }
@@ -0,0 +1,176 @@
+package com.author.example_mod.eternal;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fast access to private members or members whose name changes between versions, resolved once from a list of candidate names
+ * such as the names one member has in different versions or mappings. The first candidate that exists with the right signature wins.
+ * <p>
+ * Keep the results in static final fields, a {@link MethodHandle} there is inlined by the JIT so invokeExact costs about as much as a direct call.
+ * {@link #bind(Class, Class, String...)} turns a method into an instance of a functional interface with LambdaMetafactory,
+ * so calls skip reflection and boxing, anything LambdaMetafactory refuses falls back to a proxy around the handle.
+ * <p>
+ * Works the same on the Java 8 versions, where the private lookup is created without privateLookupIn.
+ */
+public class Accessors {
+    private static final Map<String, Object> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * A handle of type (owner)type, or ()type for static fields.
+     */
+    public static MethodHandle findGetter(Class<?> owner, Class<?> type, String... names) {
+        return cached("getter", owner, type, names, () -> {
+            Field field = findField(owner, type, names);
+            return MethodHandles.lookup().unreflectGetter(field);
+        });
+    }
+
+    /**
+     * A handle of type (owner, type)void, or (type)void for static fields, final fields can not be set.
+     */
+    public static MethodHandle findSetter(Class<?> owner, Class<?> type, String... names) {
+        return cached("setter", owner, type, names, () -> {
+            Field field = findField(owner, type, names);
+            if (Modifier.isFinal(field.getModifiers()))
+                throw new RuntimeException("Field " + owner.getName() + "#" + field.getName() + " is final");
+            return MethodHandles.lookup().unreflectSetter(field);
+        });
+    }
+
+    /**
+     * A handle of type (owner, params)returnType, or (params)returnType for static methods.
+     */
+    public static MethodHandle findMethod(Class<?> owner, Class<?> returnType, Class<?>[] params, String... names) {
+        return cached("method", owner, MethodType.methodType(returnType, params), names, () -> {
+            Method method = findMethod(owner, returnType, params, Modifier.STATIC, names);
+            if (method == null) method = findMethod(owner, returnType, params, 0, names);
+            if (method == null) throw notFound("method", owner, MethodType.methodType(returnType, params), names);
+            return MethodHandles.lookup().unreflect(method);
+        });
+    }
+
+    /**
+     * Binds a method to the single abstract method of the interface, either a static method taking the same parameters,
+     * or an instance method of the owner when the first parameter is the receiver.
+     * The interface must be public and declare the exact parameter and return types, generic interfaces like Function do not match anything.
+     */
+    public static <T> T bind(Class<T> functionalInterface, Class<?> owner, String... names) {
+        Method abstractMethod = abstractMethod(functionalInterface);
+        Class<?>[] params = abstractMethod.getParameterTypes();
+        return functionalInterface.cast(cached("bind " + functionalInterface.getName(), owner, MethodType.methodType(abstractMethod.getReturnType(), params), names, () -> {
+            Method method = findMethod(owner, abstractMethod.getReturnType(), params, Modifier.STATIC, names);
+            if (method == null && params.length > 0 && params[0].isAssignableFrom(owner))
+                method = findMethod(owner, abstractMethod.getReturnType(), Arrays.copyOfRange(params, 1, params.length), 0, names);
+            if (method == null) throw notFound("method", owner, MethodType.methodType(abstractMethod.getReturnType(), params), names);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            try {
+                MethodType samType = MethodType.methodType(abstractMethod.getReturnType(), params);
+                return LambdaMetafactory.metafactory(privateLookupIn(method.getDeclaringClass()), abstractMethod.getName(), MethodType.methodType(functionalInterface),
+                        samType, handle, samType).getTarget().invoke();
+            } catch (Throwable throwable) {
+                Log.debug("Could not generate a lambda for {}#{}, using a proxy: {}", owner.getName(), method.getName(), throwable.toString());
+                return bind(functionalInterface, handle);
+            }
+        }));
+    }
+
+    /**
+     * Wraps any handle, such as a getter, in the interface through a proxy, slower than a handle kept in a static final field.
+     */
+    public static <T> T bind(Class<T> functionalInterface, MethodHandle handle) {
+        Method abstractMethod = abstractMethod(functionalInterface);
+        return MethodHandleProxies.asInterfaceInstance(functionalInterface, handle.asType(MethodType.methodType(abstractMethod.getReturnType(), abstractMethod.getParameterTypes())));
+    }
+
+    private interface Resolver {
+        Object resolve() throws ReflectiveOperationException;
+    }
+
+    private static <T> T cached(String kind, Class<?> owner, Object type, String[] names, Resolver resolver) {
+        String key = kind + " " + owner.getName() + " " + type + " " + String.join(",", names);
+        Object value = resolved.get(key);
+        if (value == null) {
+            try {
+                value = resolver.resolve();
+            } catch (ReflectiveOperationException exception) {
+                throw new RuntimeException("Could not access " + kind + " " + owner.getName() + "#" + String.join("|", names), exception);
+            }
+            resolved.putIfAbsent(key, value);
+        }
+        @SuppressWarnings("unchecked")
+        T result = (T) value;
+        return result;
+    }
+
+    private static Field findField(Class<?> owner, Class<?> type, String[] names) {
+        for (String name : names)
+            for (Class<?> current = owner; current != null; current = current.getSuperclass()) {
+                Field field;
+                try {
+                    field = current.getDeclaredField(name);
+                } catch (NoSuchFieldException exception) {
+                    continue;
+                }
+                if (field.getType() != type) continue;
+                field.setAccessible(true);
+                return field;
+            }
+        throw notFound("field", owner, type, names);
+    }
+
+    /**
+     * @param staticModifier {@link Modifier#STATIC} to only match static methods, 0 to only match instance methods.
+     */
+    private static Method findMethod(Class<?> owner, Class<?> returnType, Class<?>[] params, int staticModifier, String[] names) {
+        for (String name : names)
+            for (Class<?> current = owner; current != null; current = current.getSuperclass()) {
+                Method method;
+                try {
+                    method = current.getDeclaredMethod(name, params);
+                } catch (NoSuchMethodException exception) {
+                    continue;
+                }
+                if (method.getReturnType() != returnType || (method.getModifiers() & Modifier.STATIC) != staticModifier) continue;
+                method.setAccessible(true);
+                return method;
+            }
+        return null;
+    }
+
+    private static Method abstractMethod(Class<?> functionalInterface) {
+        if (!functionalInterface.isInterface())
+            throw new IllegalArgumentException(functionalInterface.getName() + " is not an interface");
+        Method found = null;
+        for (Method method : functionalInterface.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers())) continue;
+            if (found != null)
+                throw new IllegalArgumentException(functionalInterface.getName() + " has more than one abstract method");
+            found = method;
+        }
+        if (found == null) throw new IllegalArgumentException(functionalInterface.getName() + " has no abstract method");
+        return found;
+    }
+
+    /**
+     * A lookup with private access to the class, so generated lambdas may call its private members.
+     * privateLookupIn only exists from Java 9, before that the private constructor of Lookup does the same.
+     */
+    private static MethodHandles.Lookup privateLookupIn(Class<?> target) throws ReflectiveOperationException {
+        try {
+            Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            return (MethodHandles.Lookup) privateLookupIn.invoke(null, target, MethodHandles.lookup());
+        } catch (NoSuchMethodException java8) {
+            Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(target, MethodHandles.Lookup.PUBLIC | MethodHandles.Lookup.PRIVATE | MethodHandles.Lookup.PROTECTED | MethodHandles.Lookup.PACKAGE);
+        }
+    }
+
+    private static RuntimeException notFound(String kind, Class<?> owner, Object type, String[] names) {
+        return new RuntimeException("No " + kind + " of " + owner.getName() + " named " + String.join(" or ", names) + " matches " + type);
+    }
+}
@@ -1,10 +1,43 @@
 package com.author.example_mod.eternal;
 
 import com.author.example_mod.eternal.events.CommandRegistration;
+import com.author.example_mod.eternal.events.Event;
+import com.author.example_mod.eternal.events.Networking;
+import com.author.example_mod.eternal.events.ServerLifecycle;
+import com.author.example_mod.eternal.events.Ticks;
 
 public class Events {
     public interface NormalizedEvent<T> {
         void register(T callback);
+
+        void register(T callback, Priority priority);
+    }
+
+    /**
+     * Callbacks with a higher priority are called first.
+     */
+    public enum Priority {
+        HIGHEST,
+        HIGH,
+        NORMAL,
+        LOW,
+        LOWEST
     }
-    public static final CommandRegistration.CommandRegistrationEvent commandRegistration = new CommandRegistration.CommandRegistrationEvent();
+
+    /**
+     * Returned by the callbacks of cancellable events, CANCEL skips every later callback, so a callback can stop those with a lower priority.
+     */
+    public enum Result {
+        PASS,
+        CANCEL
+    }
+
+    public static final Event<CommandRegistration.CommandRegistrationCallback> commandRegistration = CommandRegistration.createEvent();
+    public static final Event<Ticks.ServerTickCallback> serverTickStart = Ticks.createServerEvent("server tick start", true);
+    public static final Event<Ticks.ServerTickCallback> serverTickEnd = Ticks.createServerEvent("server tick end", false);
+    public static final Event<Ticks.ClientTickCallback> clientTickStart = Ticks.createClientEvent("client tick start", true);
+    public static final Event<Ticks.ClientTickCallback> clientTickEnd = Ticks.createClientEvent("client tick end", false);
+    public static final Event<ServerLifecycle.ServerStoppingCallback> serverStopping = ServerLifecycle.createStoppingEvent();
+    public static final Event<Networking.ServerMessageCallback> serverMessage = Networking.createServerEvent();
+    public static final Event<Networking.ClientMessageCallback> clientMessage = Networking.createClientEvent();
 }
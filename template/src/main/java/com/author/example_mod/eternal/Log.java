@@ -0,0 +1,361 @@
+package com.author.example_mod.eternal;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Logging through {@link Utils#LOGGER} that costs nothing when the level is off, the same on every loader and version.
+ * Messages use {} placeholders which are only filled in when the message is logged, or a supplier which is only called then.
+ * The one and two argument forms avoid the varargs array.
+ * <p>
+ * Hot paths such as tick callbacks should log through a {@link Limiter} kept in a static final field, one per call site,
+ * which lets a few messages through per interval and reports how many it dropped.
+ * High volume diagnostics can go to a {@link FileSink} instead, which formats and writes on its own thread.
+ */
+public class Log {
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR
+    }
+
+    public static boolean isEnabled(Level level) {
+        switch (level) {
+            case DEBUG:
+                return Utils.LOGGER.isDebugEnabled();
+            case INFO:
+                return Utils.LOGGER.isInfoEnabled();
+            case WARN:
+                return Utils.LOGGER.isWarnEnabled();
+            default:
+                return Utils.LOGGER.isErrorEnabled();
+        }
+    }
+
+    public static void debug(String message) {
+        if (Utils.LOGGER.isDebugEnabled()) Utils.LOGGER.debug(message);
+    }
+
+    public static void debug(String format, Object arg) {
+        if (Utils.LOGGER.isDebugEnabled()) Utils.LOGGER.debug(format, arg);
+    }
+
+    public static void debug(String format, Object arg1, Object arg2) {
+        if (Utils.LOGGER.isDebugEnabled()) Utils.LOGGER.debug(format, arg1, arg2);
+    }
+
+    public static void debug(String format, Object... args) {
+        if (Utils.LOGGER.isDebugEnabled()) Utils.LOGGER.debug(format, args);
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (Utils.LOGGER.isDebugEnabled()) Utils.LOGGER.debug(message.get());
+    }
+
+    public static void info(String message) {
+        Utils.LOGGER.info(message);
+    }
+
+    public static void info(String format, Object arg) {
+        Utils.LOGGER.info(format, arg);
+    }
+
+    public static void info(String format, Object arg1, Object arg2) {
+        Utils.LOGGER.info(format, arg1, arg2);
+    }
+
+    public static void info(String format, Object... args) {
+        if (Utils.LOGGER.isInfoEnabled()) Utils.LOGGER.info(format, args);
+    }
+
+    public static void info(Supplier<String> message) {
+        if (Utils.LOGGER.isInfoEnabled()) Utils.LOGGER.info(message.get());
+    }
+
+    public static void warn(String message) {
+        Utils.LOGGER.warn(message);
+    }
+
+    public static void warn(String format, Object arg) {
+        Utils.LOGGER.warn(format, arg);
+    }
+
+    public static void warn(String format, Object arg1, Object arg2) {
+        Utils.LOGGER.warn(format, arg1, arg2);
+    }
+
+    public static void warn(String format, Object... args) {
+        if (Utils.LOGGER.isWarnEnabled()) Utils.LOGGER.warn(format, args);
+    }
+
+    public static void warn(Supplier<String> message) {
+        if (Utils.LOGGER.isWarnEnabled()) Utils.LOGGER.warn(message.get());
+    }
+
+    public static void error(String message) {
+        Utils.LOGGER.error(message);
+    }
+
+    public static void error(String message, Throwable throwable) {
+        Utils.LOGGER.error(message, throwable);
+    }
+
+    public static void error(String format, Object arg) {
+        Utils.LOGGER.error(format, arg);
+    }
+
+    public static void error(String format, Object arg1, Object arg2) {
+        Utils.LOGGER.error(format, arg1, arg2);
+    }
+
+    public static void error(String format, Object... args) {
+        if (Utils.LOGGER.isErrorEnabled()) Utils.LOGGER.error(format, args);
+    }
+
+    public static void error(Supplier<String> message) {
+        if (Utils.LOGGER.isErrorEnabled()) Utils.LOGGER.error(message.get());
+    }
+
+    /**
+     * Lets at most the given number of messages through per interval, keep one per call site in a static final field.
+     */
+    public static Limiter limit(Level level, int messages, long interval, TimeUnit unit) {
+        return new Limiter(level, messages, unit.toNanos(interval));
+    }
+
+    /**
+     * Fills the {} placeholders in order, a trailing Throwable is kept like the loggers do.
+     */
+    public static String format(String format, Object... args) {
+        StringBuilder builder = new StringBuilder(format.length() + 16 * args.length);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = format.indexOf("{}", start)) != -1) {
+            builder.append(format, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        builder.append(format, start, format.length());
+        if (argIndex < args.length && args[args.length - 1] instanceof Throwable) {
+            StringWriter trace = new StringWriter();
+            ((Throwable) args[args.length - 1]).printStackTrace(new PrintWriter(trace));
+            builder.append(System.lineSeparator()).append(trace);
+        }
+        return builder.toString();
+    }
+
+    private static void log(Level level, String message) {
+        switch (level) {
+            case DEBUG:
+                Utils.LOGGER.debug(message);
+                break;
+            case INFO:
+                Utils.LOGGER.info(message);
+                break;
+            case WARN:
+                Utils.LOGGER.warn(message);
+                break;
+            default:
+                Utils.LOGGER.error(message);
+        }
+    }
+
+    private static void log(Level level, String format, Object arg1, Object arg2) {
+        switch (level) {
+            case DEBUG:
+                Utils.LOGGER.debug(format, arg1, arg2);
+                break;
+            case INFO:
+                Utils.LOGGER.info(format, arg1, arg2);
+                break;
+            case WARN:
+                Utils.LOGGER.warn(format, arg1, arg2);
+                break;
+            default:
+                Utils.LOGGER.error(format, arg1, arg2);
+        }
+    }
+
+    private static void log(Level level, String format, Object[] args) {
+        switch (level) {
+            case DEBUG:
+                Utils.LOGGER.debug(format, args);
+                break;
+            case INFO:
+                Utils.LOGGER.info(format, args);
+                break;
+            case WARN:
+                Utils.LOGGER.warn(format, args);
+                break;
+            default:
+                Utils.LOGGER.error(format, args);
+        }
+    }
+
+    /**
+     * Logs at one level, dropping messages past the limit of the current interval.
+     * The first message of a later interval is followed by how many were dropped since the last one.
+     */
+    public static class Limiter {
+        private final Level level;
+        private final int messages;
+        private final long intervalNanos;
+        private long intervalStart = System.nanoTime();
+        private int used = 0;
+        private int dropped = 0;
+
+        private Limiter(Level level, int messages, long intervalNanos) {
+            this.level = level;
+            this.messages = messages;
+            this.intervalNanos = intervalNanos;
+        }
+
+        public void log(String message) {
+            if (!isEnabled(level)) return;
+            int droppedBefore = acquire();
+            if (droppedBefore < 0) return;
+            Log.log(level, message);
+            reportDropped(droppedBefore);
+        }
+
+        public void log(String format, Object arg) {
+            log(format, arg, null);
+        }
+
+        public void log(String format, Object arg1, Object arg2) {
+            if (!isEnabled(level)) return;
+            int droppedBefore = acquire();
+            if (droppedBefore < 0) return;
+            Log.log(level, format, arg1, arg2);
+            reportDropped(droppedBefore);
+        }
+
+        public void log(String format, Object... args) {
+            if (!isEnabled(level)) return;
+            int droppedBefore = acquire();
+            if (droppedBefore < 0) return;
+            Log.log(level, format, args);
+            reportDropped(droppedBefore);
+        }
+
+        public void log(Supplier<String> message) {
+            if (!isEnabled(level)) return;
+            int droppedBefore = acquire();
+            if (droppedBefore < 0) return;
+            Log.log(level, message.get());
+            reportDropped(droppedBefore);
+        }
+
+        /**
+         * @return how many messages were dropped since the last one went through, or -1 if this one is dropped.
+         */
+        private synchronized int acquire() {
+            long now = System.nanoTime();
+            if (now - intervalStart >= intervalNanos) {
+                intervalStart = now;
+                used = 0;
+            }
+            if (used >= messages) {
+                dropped++;
+                return -1;
+            }
+            used++;
+            int droppedBefore = dropped;
+            dropped = 0;
+            return droppedBefore;
+        }
+
+        private void reportDropped(int droppedBefore) {
+            if (droppedBefore > 0) Log.log(level, "Dropped {} similar messages", droppedBefore, null);
+        }
+    }
+
+    /**
+     * Writes formatted lines to a file from a daemon thread, so the thread logging only queues the format and arguments.
+     * The arguments are formatted later, so only pass values that will not change.
+     * When the queue is full messages are dropped instead of waiting, and the count is written once there is room again.
+     */
+    public static class FileSink implements Closeable {
+        private static final Object[] NO_ARGS = new Object[0];
+        private static final Object CLOSE = new Object();
+
+        private final BlockingQueue<Object> queue;
+        private final AtomicInteger dropped = new AtomicInteger();
+        private final Thread thread;
+        private volatile boolean closed = false;
+
+        private FileSink(File file, int capacity) throws IOException {
+            if (file.getParentFile() != null) file.getParentFile().mkdirs();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+            queue = new ArrayBlockingQueue<>(capacity);
+            thread = new Thread(() -> drain(writer), "Eternal log sink " + file.getName());
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close, "Eternal log sink shutdown"));
+        }
+
+        /**
+         * Appends to the file, keeping at most capacity messages waiting to be written.
+         */
+        public static FileSink open(File file, int capacity) throws IOException {
+            return new FileSink(file, capacity);
+        }
+
+        public void write(String message) {
+            enqueue(message, NO_ARGS);
+        }
+
+        public void write(String format, Object... args) {
+            enqueue(format, args);
+        }
+
+        private void enqueue(String format, Object[] args) {
+            if (closed || !queue.offer(new Object[]{format, args})) dropped.incrementAndGet();
+        }
+
+        private void drain(Writer writer) {
+            SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS");
+            try (Writer output = writer) {
+                while (true) {
+                    Object entry = queue.take();
+                    if (entry != CLOSE) {
+                        Object[] message = (Object[]) entry;
+                        output.write("[" + time.format(new Date()) + "] " + format((String) message[0], (Object[]) message[1]) + System.lineSeparator());
+                    }
+                    // Drops are reported whenever the queue runs empty, after the messages that were already waiting.
+                    if (queue.isEmpty() || entry == CLOSE) {
+                        int droppedCount = dropped.getAndSet(0);
+                        if (droppedCount > 0) output.write("Dropped " + droppedCount + " messages" + System.lineSeparator());
+                        output.flush();
+                    }
+                    if (entry == CLOSE) break;
+                }
+            } catch (IOException exception) {
+                Utils.LOGGER.error("Log sink failed", exception);
+            } catch (InterruptedException ignored) {
+            }
+        }
+
+        /**
+         * Writes everything still queued and stops the thread.
+         */
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            try {
+                if (queue.offer(CLOSE, 5, TimeUnit.SECONDS)) thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package com.author.example_mod.eternal;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import com.author.example_mod.eternal.reflection.QueryResult;
+import com.author.example_mod.eternal.reflection.ReflectionIndex;
+import com.author.example_mod.eternal.reflection.ReflectionQuery;
+import com.author.example_mod.eternal.reflection.ReflectionServer;
+import com.author.example_mod.eternal.reflection.SymbolReport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Checks if given classes exist.
@@ -15,326 +25,164 @@ import java.util.stream.Collectors;
  * CHECK <ElementType extends method> class [element] (inputs: [class])
  * Finds all classes gotten from matching FindTypes in parent classes respecting params.
  * FIND [FindType] parent: [class] target [class] (inputs: [class])
+ * Parents may be wildcards such as net.minecraft.text.* or java.lang.**, adding INHERITED to the FindTypes also searches supertypes.
+ * <p>
+ * Answers come from a {@link ReflectionIndex} persisted per set of classpath jars, so only the first query after a mapping change scans classes.
+ * <p>
+ * Prefixing a query with JSON prints one JSON object per result instead of text, see {@link QueryResult#toJson()}.
+ * The default can be changed with -Deternal.reflection.format=json.
+ * JSON [query]
+ * Runs every line of a file as a query.
+ * (JSON) @[file]
+ * Starts a {@link ReflectionServer} answering many queries from one warm JVM.
+ * SERVE (port)
+ * Reports which of the symbols referenced by a class folder or jar are present, missing or changed in signature, see {@link SymbolReport}.
+ * Only owners starting with one of the prefixes are checked, net.minecraft. and com.mojang. by default.
+ * Reports are cached per set of symbols and classpath jars.
+ * (JSON) SYMBOLS [classes] (prefix...)
  */
 
 public class ReflectionHelper {
+    private static final int PARSED_QUERY_CACHE_SIZE = 1024;
 
-    private enum SearchType {
-        CHECK,
-        FIND
-    }
-
-    private enum FindType {
-        INSTANCE_FIELD,
-        STATIC_FIELD,
-        INSTANCE_METHOD,
-        STATIC_METHOD
-    }
-
-    private enum ElementType {
-        CLASS,
-        INSTANCE_FIELD,
-        STATIC_FIELD,
-        INSTANCE_METHOD,
-        STATIC_METHOD
-    }
+    private static ReflectionIndex index;
+    private static PrintStream out = System.out;
+    private static final Map<String, ReflectionQuery> parsedQueries = new LinkedHashMap<String, ReflectionQuery>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ReflectionQuery> eldest) {
+            return size() > PARSED_QUERY_CACHE_SIZE;
+        }
+    };
 
     public static void main(String[] rawArgs) throws RuntimeException {
         String rawArg = Arrays.stream(rawArgs).reduce((prev, arg) -> prev + arg).orElse("").trim();
-        ArgList args = separateArgs(rawArg);
-
-        SearchType searchType = SearchType.valueOf(args.at(0).getString());
-
-        /*
-         * CHECK CLASS [class]
-         * CHECK ElementType class [element]
-         * CHECK <ElementType extends method> class [element] (inputs: [class])
-         */
-        if (searchType.equals(SearchType.CHECK)) {
-            ElementType elementType = ElementType.valueOf(args.at(1).getString());
-            /*
-             * CHECK CLASS [class]
-             */
-            if (elementType.equals(ElementType.CLASS)) {
-                for (Arg arg : args.at(2).asList()) {
-                    Optional<Class<?>> parentClass = getClass(arg.getString());
-                    if (parentClass.isPresent()) System.out.println(" * Class " + arg.getString() + " exists.");
-                    else System.out.println(" * Class " + arg.getString() + " does not exist.");
-                }
-            }
-            /*
-             * CHECK ElementType class [element]
-             * CHECK <ElementType extends method> class [element] (inputs: [class])
-             */
-            else {
-                Class<?> parentClass = getClass(args.at(2).getString()).orElseThrow(() -> new RuntimeException("Invalid parent class: " + args.at(2).getString()));
-                List<Class<?>> paramTypes = new ArrayList<>();
-                for (Arg className : args.atOr(4, new ArgList()).asList())
-                    paramTypes.add(getClass(className.getString()).orElseThrow(() -> new RuntimeException("Invalid param class: " + className)));
-
-                for (Arg arg : args.at(3).asList()) {
-                    if (elementType.equals(ElementType.INSTANCE_FIELD) || elementType.equals(ElementType.STATIC_FIELD))
-                        checkField(parentClass, arg.getString(), elementType.equals(ElementType.STATIC_FIELD));
-                    else if (elementType.equals(ElementType.INSTANCE_METHOD) || elementType.equals(ElementType.STATIC_METHOD))
-                        checkMethod(parentClass, arg.getString(), elementType.equals(ElementType.STATIC_METHOD), paramTypes.toArray(new Class<?>[0]));
-                    else
-                        System.out.println(" * Class " + arg.getString() + (getClass(arg.getString()).isPresent() ? " exists." : " does not exist."));
-                }
-            }
+        if (rawArg.equals("SERVE") || rawArg.startsWith("SERVE ")) {
+            serve(rawArg);
+            return;
         }
-        /*
-         * FIND [FindType] parent: [class] target: [class] (inputs: [class])
-         */
-        else {
-            List<FindType> findTypes = args.at(1).asList().stream()
-                    .map(arg -> FindType.valueOf(arg.getString())).collect(Collectors.toList());
-
-            List<Class<?>> parentClasses = new ArrayList<>();
-            for (Arg className : args.at(2).asList())
-                parentClasses.add(getClass(className.getString()).orElseThrow(() -> new RuntimeException("Invalid parent class: " + className)));
-
-            List<Class<?>> targetTypes = new ArrayList<>();
-            for (Arg className : args.at(3).asList())
-                targetTypes.add(getClass(className.getString()).orElseThrow(() -> new RuntimeException("Invalid target class: " + className)));
-
-            Set<Class<?>> validParamTypes = new HashSet<>();
-            for (Arg className : args.atOr(4, new ArgList()).asList())
-                validParamTypes.add(getClass(className.getString()).orElseThrow(() -> new RuntimeException("Invalid param class: " + className)));
-
-            for (FindType findType : findTypes)
-                for (Class<?> parentClass : parentClasses)
-                    for (Class<?> targetType : targetTypes)
-                        switch (findType) {
-                            case INSTANCE_FIELD:
-                                findFields(parentClass, targetType, false).forEach(field ->
-                                        System.out.println(" * Found instance field: " + parentClass.getName() + "#" + field.getName() + " (Type: " + field.getType().getName() + ")")
-                                );
-                                break;
-                            case STATIC_FIELD:
-                                findFields(parentClass, targetType, true).forEach(field ->
-                                        System.out.println(" * Found static field: " + parentClass.getName() + "#" + field.getName() + " (Type: " + field.getType().getName() + ")")
-                                );
-                                break;
-                            case INSTANCE_METHOD:
-                                findMethods(parentClass, targetType, false, validParamTypes).forEach(method ->
-                                        System.out.println(" * Found instance method: " + parentClass.getName() + "#" + method.getName() + formatParamTypes(method.getParameterTypes()) + " -> " + method.getReturnType().getName())
-                                );
-                                break;
-                            case STATIC_METHOD:
-                                findMethods(parentClass, targetType, true, validParamTypes).forEach(method ->
-                                        System.out.println(" * Found static method: " + parentClass.getName() + "#" + method.getName() + formatParamTypes(method.getParameterTypes()) + " -> " + method.getReturnType().getName())
-                                );
-                                break;
-                        }
+        index = ReflectionIndex.open(ReflectionHelper.class.getClassLoader());
+        try {
+            run(rawArg);
+        } finally {
+            index.save();
         }
     }
 
-    private interface Arg {
-        String toString();
-
-        String getString() throws RuntimeException;
-
-        List<Arg> asList();
-    }
-
-    private static class ArgString implements Arg {
-        public ArgString(String string) {
-            this.string = string;
-        }
-
-        public final String string;
-
-        @Override
-        public String toString() {
-            return string;
-        }
-
-        @Override
-        public String getString() {
-            return string;
-        }
-
-        @Override
-        public List<Arg> asList() {
-            List<Arg> list = new ArrayList<>();
-            list.add(this);
-            return list;
+    /*
+     * SERVE (port)
+     */
+    private static void serve(String rawArg) {
+        String port = rawArg.substring("SERVE".length()).trim();
+        index = ReflectionIndex.open(ReflectionIndex.isolatedClassLoader());
+        File portFile = new File(indexDir(), "server.port");
+        try {
+            new ReflectionServer(port.isEmpty() ? 0 : Integer.parseInt(port), portFile, (query, stream) -> {
+                out = stream;
+                try {
+                    run(query);
+                } finally {
+                    out = System.out;
+                    index.save();
+                }
+            }).run();
+        } catch (IOException exception) {
+            throw new RuntimeException("Reflection server failed", exception);
         }
     }
 
-    private static class ArgList implements Arg {
-        public ArgList() {
-            items = new ArrayList<>();
-        }
-
-        public final ArrayList<Arg> items;
-
-        public void add(Arg arg) {
-            items.add(arg);
-        }
-
-        public Arg at(int index) {
-            return items.get(index);
+    private static void run(String rawArg) throws RuntimeException {
+        boolean json = "json".equalsIgnoreCase(System.getProperty("eternal.reflection.format", "text"));
+        if (rawArg.startsWith("JSON ")) {
+            json = true;
+            rawArg = rawArg.substring("JSON ".length()).trim();
+        } else if (rawArg.startsWith("TEXT ")) {
+            json = false;
+            rawArg = rawArg.substring("TEXT ".length()).trim();
         }
 
-        public Arg atOr(int index, Arg or) {
-            return items.size() > index ? items.get(index) : or;
+        if (rawArg.startsWith("SYMBOLS ")) {
+            symbols(rawArg, json);
+            return;
         }
 
-        @Override
-        public String toString() {
-            if (items.isEmpty()) return "[]";
-            return "[" + items.stream().map(Arg::toString).reduce((prev, item) -> prev + ", " + item).get() + "]";
+        if (!rawArg.startsWith("@")) {
+            for (QueryResult result : parse(rawArg).execute(index))
+                out.println(json ? result.toJson() : result.toText());
+            return;
         }
 
-        @Override
-        public String getString() throws RuntimeException {
-            throw new RuntimeException("Attempting to read ArgList as ArgString");
-        }
-
-        @Override
-        public List<Arg> asList() {
-            return items;
+        /*
+         * @[file]
+         */
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(new File(rawArg.substring(1)).toPath(), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new RuntimeException("Could not read query file: " + rawArg.substring(1), exception);
         }
-    }
-
-    private static ArgList separateArgs(String rawArg) {
-        rawArg += " ";
-        ArgList args = new ArgList();
-        StringBuilder currentArg = new StringBuilder();
-        int parenDepth = 0;
-        for (String c : rawArg.split("")) {
-            if (c.equals("("))
-                parenDepth++;
-            if (c.equals(" ") && parenDepth == 0) {
-                String currentString = currentArg.toString();
-                if (currentString.contains(" ")) args.add(separateArgs(currentString));
-                else args.add(new ArgString(currentString));
-                currentArg = new StringBuilder();
-            } else if (parenDepth != 1 || (!c.equals("(") && !c.equals(")"))) currentArg.append(c);
-            if (c.equals(")"))
-                parenDepth--;
+        for (int lineNumber = 1; lineNumber <= lines.size(); lineNumber++) {
+            String line = lines.get(lineNumber - 1).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            if (!json) out.println("> " + line);
+            for (QueryResult result : parse(line).execute(index))
+                out.println(json ? "{\"query\":" + lineNumber + "," + result.toJson().substring(1) : result.toText());
         }
-
-        return args;
     }
 
-    private static void checkField(Class<?> targetClass, String fieldName, boolean isStatic) {
+    /*
+     * SYMBOLS [classes] (prefix...)
+     */
+    private static void symbols(String rawArg, boolean json) {
+        String[] parts = rawArg.substring("SYMBOLS ".length()).trim().split("\\s+");
+        List<String> prefixes = parts.length > 1 ? Arrays.asList(parts).subList(1, parts.length) : SymbolReport.DEFAULT_PREFIXES;
+        Set<String> symbols;
         try {
-            Field field = targetClass.getDeclaredField(fieldName);
-            boolean realIsStatic = Modifier.isStatic(field.getModifiers());
-            if (realIsStatic == isStatic)
-                System.out.println(" * " + (isStatic ? "Static" : "Instance") + " field '" + fieldName + "' exists.");
-            else
-                System.out.println(" * " + (isStatic ? "Static" : "Instance") + " field '" + fieldName + "' does not exist (found " + (realIsStatic ? "static" : "instance") + " field with same name).");
-        } catch (NoSuchFieldException e) {
-            System.out.println(" * " + (isStatic ? "Static" : "Instance") + " field '" + fieldName + "' does not exist.");
+            symbols = SymbolReport.extract(new File(parts[0]), prefixes);
+        } catch (IOException exception) {
+            throw new RuntimeException("Could not read classes: " + parts[0], exception);
         }
-    }
 
-    private static void checkMethod(Class<?> targetClass, String methodName, boolean requireStatic, Class<?>[] paramTypes) {
-        Method foundMethod = null;
-
-        if (paramTypes.length > 0) {
-            try {
-                Method method = targetClass.getDeclaredMethod(methodName, paramTypes);
-                if (Modifier.isStatic(method.getModifiers()) == requireStatic)
-                    foundMethod = method;
-            } catch (NoSuchMethodException ignored) {
-            }
-        } else
-            for (Method method : targetClass.getDeclaredMethods()) {
-                if (method.getName().equals(methodName) && (Modifier.isStatic(method.getModifiers()) == requireStatic)) {
-                    foundMethod = method;
-                    break;
-                }
+        File cacheFile = new File(indexDir(), "symbols/" + ReflectionIndex.hashLibraries() + "-" + hashSymbols(symbols, json) + ".txt");
+        List<String> lines;
+        try {
+            if (cacheFile.exists()) lines = Files.readAllLines(cacheFile.toPath(), StandardCharsets.UTF_8);
+            else {
+                lines = SymbolReport.check(index, symbols, json);
+                cacheFile.getParentFile().mkdirs();
+                File temp = new File(cacheFile.getPath() + ".tmp");
+                Files.write(temp.toPath(), lines, StandardCharsets.UTF_8);
+                Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
-
-        if (foundMethod != null)
-            System.out.println(" * " + (requireStatic ? "Static" : "Instance") + " method '" + targetClass + "#" + methodName + "(" + formatParamTypes(foundMethod.getParameterTypes()) + ")' exists.");
-        else
-            System.out.println(" * " + (requireStatic ? "Static" : "Instance") + " method '" + targetClass + "#" + methodName + "(" + formatParamTypes(paramTypes) + ")' does not exist.");
+        } catch (IOException exception) {
+            throw new RuntimeException("Could not access symbol report cache: " + cacheFile, exception);
+        }
+        for (String line : lines)
+            out.println(line);
     }
 
-    private static List<Field> findFields(Class<?> parentClass, Class<?> targetType, boolean requireStatic) {
-        List<Field> foundFields = new ArrayList<>();
-        for (Field field : parentClass.getDeclaredFields())
-            if (Modifier.isStatic(field.getModifiers()) == requireStatic && targetType.isAssignableFrom(field.getType()))
-                foundFields.add(field);
-
-        return foundFields;
+    private static String hashSymbols(Set<String> symbols, boolean json) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new RuntimeException(exception);
+        }
+        digest.update((json ? "json\n" : "text\n").getBytes(StandardCharsets.UTF_8));
+        for (String symbol : symbols)
+            digest.update((symbol + "\n").getBytes(StandardCharsets.UTF_8));
+        return ReflectionIndex.hex(digest.digest());
     }
 
-    private static List<Method> findMethods(Class<?> parentClass, Class<?> targetType, boolean requireStatic, Set<Class<?>> paramTypes) {
-        List<Method> foundMethods = new ArrayList<>();
-        for (Method method : parentClass.getDeclaredMethods())
-            if (Modifier.isStatic(method.getModifiers()) == requireStatic) {
-                boolean returnTypeMatches = targetType.isAssignableFrom(method.getReturnType());
-                boolean paramTypesMatch = true;
-                if (!paramTypes.isEmpty()) {
-                    for (Class<?> actualParamType : method.getParameterTypes()) {
-                        boolean foundMatchForActualParam = false;
-                        for (Class<?> possibleType : paramTypes) {
-                            if (possibleType.isAssignableFrom(actualParamType)) {
-                                foundMatchForActualParam = true;
-                                break;
-                            }
-                        }
-                        if (!foundMatchForActualParam) {
-                            paramTypesMatch = false;
-                            break;
-                        }
-                    }
-                }
-                if (returnTypeMatches && paramTypesMatch)
-                    foundMethods.add(method);
-            }
-        return foundMethods;
+    private static File indexDir() {
+        return new File(System.getProperty("eternal.reflection.indexDir", "build/reflection-index"));
     }
 
-    private static Optional<Class<?>> getClass(String className) {
-        try {
-            switch (className) {
-                case "boolean":
-                case "Boolean":
-                    return Optional.of(boolean.class);
-                case "byte":
-                case "Byte":
-                    return Optional.of(byte.class);
-                case "short":
-                case "Short":
-                    return Optional.of(short.class);
-                case "int":
-                case "Int":
-                    return Optional.of(int.class);
-                case "long":
-                case "Long":
-                    return Optional.of(long.class);
-                case "float":
-                case "Float":
-                    return Optional.of(float.class);
-                case "double":
-                case "Double":
-                    return Optional.of(double.class);
-                case "char":
-                case "Char":
-                    return Optional.of(char.class);
-                case "string":
-                case "String":
-                    return Optional.of(String.class);
-                case "void":
-                case "Void":
-                    return Optional.of(void.class);
-                default:
-                    return Optional.of(Class.forName(className));
-            }
-        } catch (ClassNotFoundException exception) {
-            return Optional.empty();
+    private static ReflectionQuery parse(String rawArg) {
+        ReflectionQuery query = parsedQueries.get(rawArg);
+        if (query == null) {
+            query = ReflectionQuery.parse(rawArg);
+            parsedQueries.put(rawArg, query);
         }
+        return query;
     }
-
-    private static String formatParamTypes(Class<?>[] paramTypes) {
-        if (paramTypes.length == 0) return "()";
-        return "(" + Arrays.stream(paramTypes).map(Class::getName).reduce("", (prev, name) -> prev.isEmpty() ?name:  prev + ", " + name) + ")";
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+package com.author.example_mod.eternal;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs work later on a main thread or off thread, the same on every loader since it is driven by the normalized tick events.
+ * {@link #SERVER} runs on the server thread and {@link #CLIENT} on the client thread, only use the client one from client code.
+ * <p>
+ * Tasks can be scheduled from any thread, they run at the start of the tick, tasks scheduled while a tick runs wait for the next one.
+ * Tasks of {@link #SERVER} that have not run when the server stops are dropped, so they never run in the next world of a singleplayer game.
+ * Off thread work uses a bounded pool of -Deternal.scheduler.threads workers, virtual threads on the Java 21 versions.
+ */
+public class Scheduler {
+    public static final Scheduler SERVER = new Scheduler(true);
+    public static final Scheduler CLIENT = new Scheduler(false);
+
+    private static final int THREADS = Integer.getInteger("eternal.scheduler.threads", Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    private static final Executor WORKERS = createWorkers();
+
+    private static class Delayed {
+        private Delayed(Runnable task, int ticks) {
+            this.task = task;
+            this.ticks = ticks;
+        }
+
+        private final Runnable task;
+        private final int ticks;
+        private long dueTick;
+        private long order;
+    }
+
+    private static class Spread {
+        private Spread(Iterator<? extends Runnable> tasks, long budgetNanos) {
+            this.tasks = tasks;
+            this.budgetNanos = budgetNanos;
+        }
+
+        private final Iterator<? extends Runnable> tasks;
+        private final long budgetNanos;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+    }
+
+    private final boolean server;
+    private final Queue<Delayed> incoming = new ConcurrentLinkedQueue<>();
+    private final Queue<Spread> incomingSpreads = new ConcurrentLinkedQueue<>();
+    /**
+     * Only touched by the tick thread.
+     */
+    private final PriorityQueue<Delayed> delayed = new PriorityQueue<>((left, right) -> left.dueTick != right.dueTick ? Long.compare(left.dueTick, right.dueTick) : Long.compare(left.order, right.order));
+    private final List<Spread> spreads = new ArrayList<>();
+    private long tick = 0;
+    private long order = 0;
+    private volatile boolean hooked = false;
+
+    private Scheduler(boolean server) {
+        this.server = server;
+    }
+
+    /**
+     * Runs the task at the start of the next tick.
+     */
+    public void nextTick(Runnable task) {
+        afterTicks(1, task);
+    }
+
+    /**
+     * Runs the task at the start of the given tick from now, 1 being the next tick.
+     */
+    public void afterTicks(int ticks, Runnable task) {
+        if (ticks < 1) throw new IllegalArgumentException("Ticks must be at least 1 but got " + ticks);
+        hook();
+        incoming.add(new Delayed(task, ticks));
+    }
+
+    /**
+     * Runs the tasks in order over as many ticks as needed, spending at most the budget per tick but always at least one task.
+     */
+    public CompletableFuture<Void> spread(Collection<? extends Runnable> tasks, long budgetMicros) {
+        hook();
+        Spread spread = new Spread(new ArrayList<>(tasks).iterator(), budgetMicros * 1000);
+        incomingSpreads.add(spread);
+        return spread.done;
+    }
+
+    /**
+     * Runs the work on a worker thread, the future completes on that worker.
+     */
+    public static <T> CompletableFuture<T> async(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, WORKERS);
+    }
+
+    /**
+     * Runs the work on a worker thread and hands the result to the callback on this scheduler's thread, failures are logged.
+     */
+    public <T> void async(Supplier<T> work, Consumer<? super T> callback) {
+        async(work).whenComplete((result, throwable) -> {
+            if (throwable != null) Utils.LOGGER.error("Async task failed", throwable);
+            else nextTick(() -> callback.accept(result));
+        });
+    }
+
+    /**
+     * An executor running on this scheduler's thread, for use with the async methods of {@link CompletableFuture}.
+     */
+    public Executor mainThread() {
+        return this::nextTick;
+    }
+
+    private void hook() {
+        if (hooked) return;
+        synchronized (this) {
+            if (hooked) return;
+            hooked = true;
+            if (server) {
+                Events.serverTickStart.register(minecraftServer -> tick(), Events.Priority.HIGHEST);
+                Events.serverStopping.register(minecraftServer -> clear());
+            } else Events.clientTickStart.register(client -> tick(), Events.Priority.HIGHEST);
+        }
+    }
+
+    /**
+     * Drops every task that has not run yet, the futures of unfinished spreads are cancelled.
+     */
+    private void clear() {
+        incoming.clear();
+        delayed.clear();
+        Spread spread;
+        while ((spread = incomingSpreads.poll()) != null)
+            spreads.add(spread);
+        for (Spread current : spreads)
+            current.done.cancel(false);
+        spreads.clear();
+        tick = 0;
+        order = 0;
+    }
+
+    private void tick() {
+        tick++;
+        Delayed next;
+        while ((next = incoming.poll()) != null) {
+            next.dueTick = tick + next.ticks - 1;
+            next.order = order++;
+            delayed.add(next);
+        }
+        while (!delayed.isEmpty() && delayed.peek().dueTick <= tick)
+            run(delayed.poll().task);
+
+        Spread spread;
+        while ((spread = incomingSpreads.poll()) != null)
+            spreads.add(spread);
+        for (Iterator<Spread> iterator = spreads.iterator(); iterator.hasNext(); ) {
+            Spread current = iterator.next();
+            long start = System.nanoTime();
+            do {
+                if (!current.tasks.hasNext()) break;
+                run(current.tasks.next());
+            } while (System.nanoTime() - start < current.budgetNanos);
+            if (!current.tasks.hasNext()) {
+                iterator.remove();
+                current.done.complete(null);
+            }
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable throwable) {
+            Utils.LOGGER.error("Scheduled task failed", throwable);
+        }
+    }
+
+    private static Executor createWorkers() {
+        //? if > 1.20.4 {
+        /*// Virtual threads are cheap to block, so the bound is a semaphore around each task instead of a fixed number of threads.
+        ExecutorService virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Eternal worker #", 0).factory());
+        Semaphore permits = new Semaphore(THREADS);
+        return task -> virtualThreads.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+        *///?} else {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "Eternal worker #" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        //?}
+    }
+}
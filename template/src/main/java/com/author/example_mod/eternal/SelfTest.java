@@ -0,0 +1,123 @@
+package com.author.example_mod.eternal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Named checks that run when the mod reaches a lifecycle stage, the results are written as JSON to the file in -Deternal.selfTest.output.
+ * Without that property registering and reaching stages does nothing.
+ * <p>
+ * The report is written once the last stage is reached, or on shutdown if it never is, checks of stages that were not reached count as failed.
+ * {"loader": "fabric", "minecraft": "1.21.8", "complete": true, "stages": {"COMMON_INIT": ms}, "checks": {"name": {"stage": "COMMON_INIT", "passed": true, "micros": 12, "error": null}}}
+ */
+public class SelfTest {
+    public enum Stage {
+        COMMON_INIT,
+        CLIENT_INIT,
+        TITLE_SCREEN
+    }
+
+    public interface Check {
+        /**
+         * @param context the object passed to {@link #reach(Stage, Object)}, such as the title screen.
+         * @return if the check passed, throwing also fails it.
+         */
+        boolean run(Object context) throws Throwable;
+    }
+
+    private static class Result {
+        private Result(Stage stage, boolean passed, long micros, String error) {
+            this.stage = stage;
+            this.passed = passed;
+            this.micros = micros;
+            this.error = error;
+        }
+
+        private final Stage stage;
+        private final boolean passed;
+        private final long micros;
+        private final String error;
+    }
+
+    private static final String OUTPUT = System.getProperty("eternal.selfTest.output");
+    private static final long START = System.nanoTime();
+
+    private static final Map<Stage, Map<String, Check>> checks = new EnumMap<>(Stage.class);
+    private static final Map<Stage, Long> reachedStages = new EnumMap<>(Stage.class);
+    private static final Map<String, Result> results = new LinkedHashMap<>();
+    private static boolean written = false;
+
+    static {
+        if (isEnabled()) Runtime.getRuntime().addShutdownHook(new Thread(SelfTest::write, "Self test report"));
+    }
+
+    public static boolean isEnabled() {
+        return OUTPUT != null;
+    }
+
+    /**
+     * Registering the same name again replaces the check, so this can be called from code that runs more than once.
+     */
+    public static synchronized void register(Stage stage, String name, Check check) {
+        if (!isEnabled()) return;
+        checks.computeIfAbsent(stage, key -> new LinkedHashMap<>()).put(name, check);
+    }
+
+    /**
+     * Runs the checks of the stage the first time it is reached.
+     */
+    public static synchronized void reach(Stage stage, Object context) {
+        if (!isEnabled() || reachedStages.containsKey(stage)) return;
+        reachedStages.put(stage, (System.nanoTime() - START) / 1_000_000);
+        for (Map.Entry<String, Check> entry : checks.getOrDefault(stage, Collections.emptyMap()).entrySet()) {
+            long start = System.nanoTime();
+            boolean passed = false;
+            String error = null;
+            try {
+                passed = entry.getValue().run(context);
+            } catch (Throwable throwable) {
+                error = throwable.toString();
+            }
+            results.put(entry.getKey(), new Result(stage, passed, (System.nanoTime() - start) / 1000, error));
+            if (!passed) Log.warn("Self test {} failed{}", entry.getKey(), error == null ? "" : ": " + error);
+        }
+        if (stage.ordinal() == Stage.values().length - 1) write();
+    }
+
+    private static synchronized void write() {
+        if (written) return;
+        written = true;
+
+        StringBuilder json = new StringBuilder("{\"loader\":").append(Utils.jsonString(/*$ loader_string {*/"fabric"/*$}*/))
+                .append(",\"minecraft\":").append(Utils.jsonString(/*$ minecraft_version_string {*/"1.21.8"/*$}*/))
+                .append(",\"complete\":").append(reachedStages.size() == Stage.values().length)
+                .append(",\"stages\":{");
+        StringJoiner stages = new StringJoiner(",");
+        for (Map.Entry<Stage, Long> entry : reachedStages.entrySet())
+            stages.add(Utils.jsonString(entry.getKey().name()) + ":" + entry.getValue());
+        json.append(stages).append("},\"checks\":{");
+
+        StringJoiner entries = new StringJoiner(",");
+        for (Map.Entry<Stage, Map<String, Check>> stage : checks.entrySet())
+            for (String name : stage.getValue().keySet()) {
+                Result result = results.get(name);
+                if (result == null) result = new Result(stage.getKey(), false, 0, "Stage " + stage.getKey() + " was never reached");
+                entries.add(Utils.jsonString(name) + ":{\"stage\":" + Utils.jsonString(result.stage.name()) + ",\"passed\":" + result.passed + ",\"micros\":" + result.micros + ",\"error\":" + Utils.jsonString(result.error) + "}");
+            }
+        json.append(entries).append("}}");
+
+        File file = new File(OUTPUT);
+        File temp = new File(OUTPUT + ".tmp");
+        try {
+            if (file.getParentFile() != null) file.getParentFile().mkdirs();
+            Files.write(temp.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exception) {
+            Utils.LOGGER.error("Could not write self test report to " + file, exception);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.author.example_mod.eternal;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Wall clock time and allocated bytes of the mod's startup phases, the same on every loader.
+ * Every begin / end pair of a phase is added up, allocation is only counted on JVMs that support per thread allocation tracking.
+ * <p>
+ * The report is written to the file in -Deternal.timings.output once the title screen has been initialized and again on shutdown.
+ * {"loader": "fabric", "minecraft": "1.21.8", "phases": {"COMMON_SETUP": {"millis": 1.5, "allocatedBytes": 1024, "count": 1, "startedAtMillis": 2100}}}
+ */
+public class StartupTimings {
+    public enum Phase {
+        /**
+         * The loader specific entrypoint constructor, Fabric has none.
+         */
+        CONSTRUCTOR,
+        COMMON_SETUP,
+        CLIENT_SETUP,
+        COMMAND_REGISTRATION,
+        /**
+         * The first title screen init, counted from the start of TitleScreen#init.
+         */
+        TITLE_SCREEN
+    }
+
+    private static class Timing {
+        private long startNanos;
+        private long startBytes;
+        private long startThread;
+        private boolean running = false;
+
+        private long nanos = 0;
+        private long bytes = 0;
+        private int count = 0;
+        /**
+         * JVM uptime when the phase first began.
+         */
+        private long startedAtMillis = -1;
+    }
+
+    private static final String OUTPUT = System.getProperty("eternal.timings.output");
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean TRACKS_ALLOCATION = allocationTrackingSupported();
+
+    private static final Map<Phase, Timing> timings = new EnumMap<>(Phase.class);
+
+    static {
+        if (OUTPUT != null) Runtime.getRuntime().addShutdownHook(new Thread(StartupTimings::write, "Startup timings report"));
+    }
+
+    public static synchronized void begin(Phase phase) {
+        Timing timing = timings.computeIfAbsent(phase, key -> new Timing());
+        if (timing.running) return;
+        timing.running = true;
+        if (timing.startedAtMillis == -1) timing.startedAtMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        timing.startThread = Thread.currentThread().getId();
+        timing.startBytes = allocatedBytes();
+        timing.startNanos = System.nanoTime();
+    }
+
+    public static synchronized void end(Phase phase) {
+        long now = System.nanoTime();
+        Timing timing = timings.get(phase);
+        if (timing == null || !timing.running) return;
+        timing.running = false;
+        timing.nanos += now - timing.startNanos;
+        // Allocation is tracked per thread, so a phase ending on another thread cannot be measured.
+        if (timing.startThread == Thread.currentThread().getId() && timing.startBytes >= 0) timing.bytes += allocatedBytes() - timing.startBytes;
+        timing.count++;
+
+        if (phase == Phase.TITLE_SCREEN && timing.count == 1) write();
+    }
+
+    private static long allocatedBytes() {
+        if (!TRACKS_ALLOCATION) return -1;
+        return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static boolean allocationTrackingSupported() {
+        try {
+            if (!(THREADS instanceof com.sun.management.ThreadMXBean)) return false;
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (!threads.isThreadAllocatedMemorySupported()) return false;
+            if (!threads.isThreadAllocatedMemoryEnabled()) threads.setThreadAllocatedMemoryEnabled(true);
+            return true;
+        } catch (LinkageError | UnsupportedOperationException | SecurityException error) {
+            return false;
+        }
+    }
+
+    private static synchronized void write() {
+        if (OUTPUT == null) return;
+        StringJoiner phases = new StringJoiner(",");
+        for (Map.Entry<Phase, Timing> entry : timings.entrySet()) {
+            Timing timing = entry.getValue();
+            if (timing.count == 0) continue;
+            phases.add(Utils.jsonString(entry.getKey().name()) + ":{\"millis\":" + timing.nanos / 1000 / 1000.0 +
+                    ",\"allocatedBytes\":" + (TRACKS_ALLOCATION ? timing.bytes : -1) +
+                    ",\"count\":" + timing.count +
+                    ",\"startedAtMillis\":" + timing.startedAtMillis + "}");
+        }
+        String json = "{\"loader\":" + Utils.jsonString(/*$ loader_string {*/"fabric"/*$}*/) +
+                ",\"minecraft\":" + Utils.jsonString(/*$ minecraft_version_string {*/"1.21.8"/*$}*/) +
+                ",\"phases\":{" + phases + "}}";
+
+        File file = new File(OUTPUT);
+        File temp = new File(OUTPUT + ".tmp");
+        try {
+            if (file.getParentFile() != null) file.getParentFile().mkdirs();
+            Files.write(temp.toPath(), json.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exception) {
+            Utils.LOGGER.error("Could not write startup timings to " + file, exception);
+        }
+    }
+}
@@ -23,4 +23,19 @@ public class Utils {
         return Text.of(string);
         //?}
     }
+
+    /**
+     * Quotes and escapes a string for use in JSON, null becomes null.
+     */
+    public static String jsonString(String string) {
+        if (string == null) return "null";
+        StringBuilder builder = new StringBuilder(string.length() + 2).append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"' || c == '\\') builder.append('\\').append(c);
+            else if (c < 0x20) builder.append(String.format("\\u%04x", (int) c));
+            else builder.append(c);
+        }
+        return builder.append('"').toString();
+    }
 }
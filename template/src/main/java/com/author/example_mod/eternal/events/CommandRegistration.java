@@ -11,11 +11,29 @@ import net.neoforged.neoforge.event.RegisterCommandsEvent;
 *///?}
 
 import com.author.example_mod.eternal.Events;
+import com.author.example_mod.eternal.Log;
+import com.author.example_mod.eternal.Scheduler;
+import com.author.example_mod.eternal.StartupTimings;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import net.minecraft.entity.Entity;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 
-import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 //? if forge {
 @Mod.EventBusSubscriber(modid =/*$ mod_id_string {*/"ancient_trinkets"/*$}*/, bus = Mod.EventBusSubscriber.Bus.FORGE)
@@ -28,21 +46,153 @@ public class CommandRegistration {
         void run(CommandDispatcher<ServerCommandSource> dispatcher, CommandManager.RegistrationEnvironment environment);
     }
 
-    public static class CommandRegistrationEvent implements Events.NormalizedEvent<CommandRegistrationCallback> {
-        //? if forge || neoforge
-        public ArrayList<CommandRegistrationCallback> callbacks = new ArrayList<>();
-
-        @Override
-        public void register(CommandRegistrationCallback callback) {
-            //? if fabric {
-            /*//? if >= 1.19.4 {
-            /^net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> callback.run(dispatcher, environment));
-             ^///?} else {
-            net.fabricmc.fabric.api.command.v1.CommandRegistrationCallback.EVENT.register((dispatcher, dedicated) -> callback.run(dispatcher, dedicated ? CommandManager.RegistrationEnvironment.DEDICATED : CommandManager.RegistrationEnvironment.INTEGRATED));
-            //?}
-            *///?} else if forge || neoforge {
-            callbacks.add(callback);
-             //?}
+    public static Event<CommandRegistrationCallback> createEvent() {
+        return new Event<>(CommandRegistrationCallback.class, callbacks -> (dispatcher, environment) -> {
+            for (CommandRegistrationCallback callback : callbacks)
+                dispatch(callback, dispatcher, environment);
+        }, CommandRegistration::bridge);
+    }
+
+    /**
+     * Registers a single loader callback for the whole event, Forge and NeoForge call the invoker from the @SubscribeEvent handler instead.
+     */
+    private static void bridge() {
+        //? if fabric {
+        /*//? if >= 1.19.4 {
+        /^net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> Events.commandRegistration.invoker().run(dispatcher, environment));
+         ^///?} else {
+        net.fabricmc.fabric.api.command.v1.CommandRegistrationCallback.EVENT.register((dispatcher, dedicated) -> Events.commandRegistration.invoker().run(dispatcher, dedicated ? CommandManager.RegistrationEnvironment.DEDICATED : CommandManager.RegistrationEnvironment.INTEGRATED));
+        //?}
+        *///?}
+    }
+
+    /**
+     * Registers a command whose node tree is built once per environment, every later registration such as after a /reload
+     * grafts a copy of that tree into the new dispatcher instead of running the builders again.
+     * The cached tree itself is never grafted, so no two dispatchers share nodes.
+     */
+    public static void registerCached(Function<CommandManager.RegistrationEnvironment, LiteralArgumentBuilder<ServerCommandSource>> command) {
+        Map<CommandManager.RegistrationEnvironment, LiteralCommandNode<ServerCommandSource>> templates = new EnumMap<>(CommandManager.RegistrationEnvironment.class);
+        Events.commandRegistration.register((dispatcher, environment) -> {
+            LiteralCommandNode<ServerCommandSource> template;
+            synchronized (templates) {
+                template = templates.computeIfAbsent(environment, key -> command.apply(key).build());
+            }
+            // Merging into a command another mod registered under the same name, or pointing redirects at this dispatcher, is left to the builders.
+            if (dispatcher.getRoot().getChild(template.getName()) != null || hasRedirect(template)) dispatcher.register(command.apply(environment));
+            else dispatcher.getRoot().addChild(copy(template));
+        });
+    }
+
+    private static boolean hasRedirect(CommandNode<ServerCommandSource> node) {
+        if (node.getRedirect() != null) return true;
+        for (CommandNode<ServerCommandSource> child : node.getChildren())
+            if (hasRedirect(child)) return true;
+        return false;
+    }
+
+    /**
+     * Copies a node tree without redirects, sharing only the immutable commands, requirements, argument types and suggestion providers.
+     */
+    private static CommandNode<ServerCommandSource> copy(CommandNode<ServerCommandSource> node) {
+        CommandNode<ServerCommandSource> copy;
+        if (node instanceof LiteralCommandNode) {
+            LiteralCommandNode<ServerCommandSource> literal = (LiteralCommandNode<ServerCommandSource>) node;
+            copy = new LiteralCommandNode<>(literal.getLiteral(), literal.getCommand(), literal.getRequirement(), null, literal.getRedirectModifier(), literal.isFork());
+        } else {
+            copy = copyArgument((ArgumentCommandNode<ServerCommandSource, ?>) node);
+        }
+        for (CommandNode<ServerCommandSource> child : node.getChildren())
+            copy.addChild(copy(child));
+        return copy;
+    }
+
+    private static <T> ArgumentCommandNode<ServerCommandSource, T> copyArgument(ArgumentCommandNode<ServerCommandSource, T> argument) {
+        return new ArgumentCommandNode<>(argument.getName(), argument.getType(), argument.getCommand(), argument.getRequirement(), null, argument.getRedirectModifier(), argument.isFork(), argument.getCustomSuggestions());
+    }
+
+    private static class CachedSuggestions {
+        private CachedSuggestions(Suggestions suggestions, long expiresAt) {
+            this.suggestions = suggestions;
+            this.expiresAt = expiresAt;
+        }
+
+        private final Suggestions suggestions;
+        private final long expiresAt;
+    }
+
+    /**
+     * Runs an expensive suggestion provider on the {@link Scheduler} workers instead of the server thread.
+     * Results are reused for the same source and input for the given time, and a newer request from the same source answers the pending one
+     * with no suggestions, so typing quickly over a large registry only computes what is still wanted.
+     * The provider runs off thread, so it may only read data that does not change while the server runs, such as registries.
+     */
+    public static SuggestionProvider<ServerCommandSource> asyncSuggestions(SuggestionProvider<ServerCommandSource> provider, long cacheMillis) {
+        Map<String, CachedSuggestions> cache = new LinkedHashMap<String, CachedSuggestions>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSuggestions> eldest) {
+                return size() > 256;
+            }
+        };
+        Map<String, CompletableFuture<Suggestions>> pending = new ConcurrentHashMap<>();
+        return (context, builder) -> {
+            String source = sourceKey(context.getSource());
+            String key = source + "\n" + builder.getStart() + ":" + builder.getInput();
+            synchronized (cache) {
+                CachedSuggestions cached = cache.get(key);
+                if (cached != null && cached.expiresAt > System.currentTimeMillis()) return CompletableFuture.completedFuture(cached.suggestions);
+            }
+
+            CompletableFuture<Suggestions> result = new CompletableFuture<>();
+            CompletableFuture<Suggestions> previous = pending.put(source, result);
+            if (previous != null) previous.complete(Suggestions.empty().join());
+            Scheduler.async(() -> {
+                if (result.isDone()) return null;
+                suggest(provider, context, builder).whenComplete((suggestions, throwable) -> {
+                    pending.remove(source, result);
+                    if (throwable != null) {
+                        Log.debug("Suggestions for {} failed: {}", builder.getInput(), throwable.toString());
+                        result.complete(Suggestions.empty().join());
+                        return;
+                    }
+                    synchronized (cache) {
+                        cache.put(key, new CachedSuggestions(suggestions, System.currentTimeMillis() + cacheMillis));
+                    }
+                    result.complete(suggestions);
+                });
+                return null;
+            });
+            return result;
+        };
+    }
+
+    /**
+     * Players and other entities are told apart by UUID, sources without an entity such as the console by name.
+     */
+    private static String sourceKey(ServerCommandSource source) {
+        Entity entity = source.getEntity();
+        return entity != null ? entity.getUuid().toString() : source.getName();
+    }
+
+    private static CompletableFuture<Suggestions> suggest(SuggestionProvider<ServerCommandSource> provider, CommandContext<ServerCommandSource> context, SuggestionsBuilder builder) {
+        try {
+            return provider.getSuggestions(context, builder);
+        } catch (CommandSyntaxException exception) {
+            CompletableFuture<Suggestions> failed = new CompletableFuture<>();
+            failed.completeExceptionally(exception);
+            return failed;
+        }
+    }
+
+    /**
+     * Runs a callback, timed as part of {@link StartupTimings.Phase#COMMAND_REGISTRATION}.
+     */
+    private static void dispatch(CommandRegistrationCallback callback, CommandDispatcher<ServerCommandSource> dispatcher, CommandManager.RegistrationEnvironment environment) {
+        StartupTimings.begin(StartupTimings.Phase.COMMAND_REGISTRATION);
+        try {
+            callback.run(dispatcher, environment);
+        } finally {
+            StartupTimings.end(StartupTimings.Phase.COMMAND_REGISTRATION);
         }
     }
 
@@ -55,8 +205,7 @@ public class CommandRegistration {
         *///?} else {
         CommandManager.RegistrationEnvironment environment = event.getEnvironment();
         //?}
-        for (CommandRegistrationCallback callback : Events.commandRegistration.callbacks)
-            callback.run(dispatcher, environment);
+        Events.commandRegistration.invoker().run(dispatcher, environment);
     }
     //?}
 }
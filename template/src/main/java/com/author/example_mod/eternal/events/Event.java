@@ -0,0 +1,98 @@
+package com.author.example_mod.eternal.events;
+
+import com.author.example_mod.eternal.Events;
+
+import java.lang.reflect.Array;
+import java.util.function.Function;
+
+/**
+ * A normalized event whose callbacks are called through {@link #invoker()}.
+ * <p>
+ * Registering copies the callbacks into a new array sorted by priority and rebuilds the invoker, firing only reads a volatile field,
+ * so it never locks or allocates. The invoker decides how the callbacks are combined,
+ * the invoker of a cancellable event returns as soon as a callback returns {@link Events.Result#CANCEL}.
+ * The loader is bridged by the given hook the first time a callback is registered, so an event nobody listens to costs nothing.
+ */
+public class Event<T> implements Events.NormalizedEvent<T> {
+    private final Class<T> type;
+    private final Function<T[], T> invokerFactory;
+    private final Runnable bridge;
+
+    private T[] callbacks;
+    private Events.Priority[] priorities = new Events.Priority[0];
+    private boolean bridged = false;
+    private volatile T invoker;
+
+    /**
+     * @param invokerFactory builds a callback that calls every callback of the array in order.
+     * @param bridge         hooks the loader's event up to {@link #invoker()}, null if the loader calls it by itself.
+     */
+    @SuppressWarnings("unchecked")
+    public Event(Class<T> type, Function<T[], T> invokerFactory, Runnable bridge) {
+        this.type = type;
+        this.invokerFactory = invokerFactory;
+        this.bridge = bridge;
+        this.callbacks = (T[]) Array.newInstance(type, 0);
+        this.invoker = invokerFactory.apply(callbacks);
+    }
+
+    public T invoker() {
+        return invoker;
+    }
+
+    @Override
+    public void register(T callback) {
+        register(callback, Events.Priority.NORMAL);
+    }
+
+    /**
+     * Callbacks with the same priority are called in the order they were registered.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized void register(T callback, Events.Priority priority) {
+        int index = 0;
+        while (index < priorities.length && priorities[index].ordinal() <= priority.ordinal())
+            index++;
+
+        T[] newCallbacks = (T[]) Array.newInstance(type, callbacks.length + 1);
+        Events.Priority[] newPriorities = new Events.Priority[priorities.length + 1];
+        System.arraycopy(callbacks, 0, newCallbacks, 0, index);
+        System.arraycopy(priorities, 0, newPriorities, 0, index);
+        newCallbacks[index] = callback;
+        newPriorities[index] = priority;
+        System.arraycopy(callbacks, index, newCallbacks, index + 1, callbacks.length - index);
+        System.arraycopy(priorities, index, newPriorities, index + 1, priorities.length - index);
+        publish(newCallbacks, newPriorities);
+
+        if (!bridged) {
+            bridged = true;
+            if (bridge != null) bridge.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized boolean unregister(T callback) {
+        for (int index = 0; index < callbacks.length; index++) {
+            if (callbacks[index] != callback) continue;
+            T[] newCallbacks = (T[]) Array.newInstance(type, callbacks.length - 1);
+            Events.Priority[] newPriorities = new Events.Priority[priorities.length - 1];
+            System.arraycopy(callbacks, 0, newCallbacks, 0, index);
+            System.arraycopy(priorities, 0, newPriorities, 0, index);
+            System.arraycopy(callbacks, index + 1, newCallbacks, index, callbacks.length - index - 1);
+            System.arraycopy(priorities, index + 1, newPriorities, index, priorities.length - index - 1);
+            publish(newCallbacks, newPriorities);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The invoker never sees the array again after this, so it may keep iterating it directly.
+     */
+    private void publish(T[] newCallbacks, Events.Priority[] newPriorities) {
+        callbacks = newCallbacks;
+        priorities = newPriorities;
+        invoker = invokerFactory.apply(newCallbacks.clone());
+    }
+}
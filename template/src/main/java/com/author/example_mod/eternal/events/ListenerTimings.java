@@ -0,0 +1,111 @@
+package com.author.example_mod.eternal.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * How long each callback of a frequently fired event takes, kept as the last {@link #SAMPLES} durations in a ring buffer.
+ * Recording only writes into that buffer so it never allocates, summaries are computed when asked for.
+ * Timing is off unless started by the ticks command or -Deternal.tickTimings=true.
+ */
+public class ListenerTimings {
+    public static final int SAMPLES = 256;
+
+    public static volatile boolean enabled = Boolean.getBoolean("eternal.tickTimings");
+
+    private static final List<ListenerTimings> all = new ArrayList<>();
+
+    public final String event;
+    public final String listener;
+    private final Object callback;
+    private final long[] samples = new long[SAMPLES];
+    private int next = 0;
+    private long count = 0;
+    private long max = 0;
+
+    private ListenerTimings(String event, Object callback) {
+        this.event = event;
+        this.callback = callback;
+        this.listener = callback.getClass().getName();
+    }
+
+    /**
+     * Returns the timings of every callback in the same order, reusing the ones of callbacks that were already registered.
+     * Called with the current callbacks whenever the event changes, so the timings of unregistered callbacks are dropped here.
+     */
+    public static synchronized ListenerTimings[] of(String event, Object[] callbacks) {
+        all.removeIf(existing -> existing.event.equals(event) && !contains(callbacks, existing.callback));
+        ListenerTimings[] timings = new ListenerTimings[callbacks.length];
+        for (int i = 0; i < callbacks.length; i++) {
+            for (ListenerTimings existing : all)
+                if (existing.callback == callbacks[i] && existing.event.equals(event)) {
+                    timings[i] = existing;
+                    break;
+                }
+            if (timings[i] == null) {
+                timings[i] = new ListenerTimings(event, callbacks[i]);
+                all.add(timings[i]);
+            }
+        }
+        return timings;
+    }
+
+    private static boolean contains(Object[] callbacks, Object callback) {
+        for (Object candidate : callbacks)
+            if (candidate == callback) return true;
+        return false;
+    }
+
+    /**
+     * Only called from the thread firing the event, readers may see a sample that is being overwritten which is fine for a summary.
+     */
+    public void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % SAMPLES;
+        count++;
+        if (nanos > max) max = nanos;
+    }
+
+    public static synchronized void reset() {
+        for (ListenerTimings timings : all) {
+            Arrays.fill(timings.samples, 0);
+            timings.next = 0;
+            timings.count = 0;
+            timings.max = 0;
+        }
+    }
+
+    /**
+     * One line per callback with the highest average over the retained samples first.
+     */
+    public static synchronized List<String> describeSlowest(int limit) {
+        List<long[]> stats = new ArrayList<>();
+        List<ListenerTimings> measured = new ArrayList<>();
+        for (ListenerTimings timings : all) {
+            int size = (int) Math.min(timings.count, SAMPLES);
+            if (size == 0) continue;
+            long[] retained = Arrays.copyOf(timings.samples, size);
+            Arrays.sort(retained);
+            long total = 0;
+            for (long sample : retained)
+                total += sample;
+            stats.add(new long[]{total / size, retained[Math.max(0, (int) Math.ceil(size * 0.99) - 1)], timings.max, timings.count});
+            measured.add(timings);
+        }
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < measured.size(); i++)
+            order.add(i);
+        order.sort((left, right) -> Long.compare(stats.get(right)[0], stats.get(left)[0]));
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, order.size()); i++) {
+            ListenerTimings timings = measured.get(order.get(i));
+            long[] stat = stats.get(order.get(i));
+            lines.add(String.format("%s %s: avg %.3f ms, p99 %.3f ms, max %.3f ms over %d calls",
+                    timings.event, timings.listener, stat[0] / 1e6, stat[1] / 1e6, stat[2] / 1e6, stat[3]));
+        }
+        return lines;
+    }
+}
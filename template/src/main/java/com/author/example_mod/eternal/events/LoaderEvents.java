@@ -0,0 +1,122 @@
+package com.author.example_mod.eternal.events;
+
+//? if forge {
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+//? if <= 1.16.5 {
+import net.minecraftforge.fml.event.server.FMLServerStoppingEvent;
+import net.minecraftforge.fml.server.ServerLifecycleHooks;
+//?} else if < 1.18 {
+/*import net.minecraftforge.fmllegacy.server.ServerLifecycleHooks;
+import net.minecraftforge.fmlserverevents.FMLServerStoppingEvent;
+*///?} else {
+/*import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.server.ServerLifecycleHooks;
+*///?}
+//?} else if neoforge {
+/*import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+//? if >= 1.20.5 {
+/^import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+^///?} else {
+import net.neoforged.neoforge.event.TickEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
+//?}
+*///?}
+
+import com.author.example_mod.eternal.Events;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * The loader side of {@link Ticks} and {@link ServerLifecycle}, kept apart so the events themselves compile without a loader.
+ * Fabric registers its callbacks the first time a callback of the matching event is registered,
+ * Forge and NeoForge always call the invokers from the @SubscribeEvent handlers.
+ */
+//? if forge {
+@Mod.EventBusSubscriber(modid =/*$ mod_id_string {*/"example_mod"/*$}*/, bus = Mod.EventBusSubscriber.Bus.FORGE)
+ //?} else if neoforge {
+/*@EventBusSubscriber(modid = /^$ mod_id_string {^/"example_mod"/^$}^/)
+ *///?}
+public class LoaderEvents {
+    static void hookServerTick(boolean start) {
+        //? if fabric {
+        /*if (start) net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents.START_SERVER_TICK.register(server -> Events.serverTickStart.invoker().onTick(server));
+        else net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents.END_SERVER_TICK.register(server -> Events.serverTickEnd.invoker().onTick(server));
+        *///?}
+    }
+
+    static void hookClientTick(boolean start) {
+        //? if fabric {
+        /*if (start) net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents.START_CLIENT_TICK.register(client -> Events.clientTickStart.invoker().onTick(client));
+        else net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents.END_CLIENT_TICK.register(client -> Events.clientTickEnd.invoker().onTick(client));
+        *///?}
+    }
+
+    static void hookServerStopping() {
+        //? if fabric {
+        /*net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents.SERVER_STOPPING.register(server -> Events.serverStopping.invoker().onStopping(server));
+        *///?}
+    }
+
+    //? if forge || (neoforge && < 1.20.5) {
+    @SubscribeEvent
+    private static void onServerTick(TickEvent.ServerTickEvent event) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (event.phase == TickEvent.Phase.START) Events.serverTickStart.invoker().onTick(server);
+        else Events.serverTickEnd.invoker().onTick(server);
+    }
+    //?} else if neoforge {
+    /*@SubscribeEvent
+    private static void onServerTickStart(ServerTickEvent.Pre event) {
+        Events.serverTickStart.invoker().onTick(event.getServer());
+    }
+
+    @SubscribeEvent
+    private static void onServerTickEnd(ServerTickEvent.Post event) {
+        Events.serverTickEnd.invoker().onTick(event.getServer());
+    }
+    *///?}
+
+    //? if forge && < 1.18 {
+    @SubscribeEvent
+    private static void onServerStopping(FMLServerStoppingEvent event) {
+        Events.serverStopping.invoker().onStopping(event.getServer());
+    }
+    //?} else if forge || neoforge {
+    /*@SubscribeEvent
+    private static void onServerStopping(ServerStoppingEvent event) {
+        Events.serverStopping.invoker().onStopping(event.getServer());
+    }
+    *///?}
+
+    //? if forge {
+    @Mod.EventBusSubscriber(modid =/*$ mod_id_string {*/"example_mod"/*$}*/, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+    //?} else if neoforge {
+    /*@EventBusSubscriber(modid = /^$ mod_id_string {^/"example_mod"/^$}^/, value = Dist.CLIENT)
+    *///?}
+    public static class Client {
+        //? if forge || (neoforge && < 1.20.5) {
+        @SubscribeEvent
+        private static void onClientTick(TickEvent.ClientTickEvent event) {
+            if (event.phase == TickEvent.Phase.START) Events.clientTickStart.invoker().onTick(MinecraftClient.getInstance());
+            else Events.clientTickEnd.invoker().onTick(MinecraftClient.getInstance());
+        }
+        //?} else if neoforge {
+        /*@SubscribeEvent
+        private static void onClientTickStart(ClientTickEvent.Pre event) {
+            Events.clientTickStart.invoker().onTick(MinecraftClient.getInstance());
+        }
+
+        @SubscribeEvent
+        private static void onClientTickEnd(ClientTickEvent.Post event) {
+            Events.clientTickEnd.invoker().onTick(MinecraftClient.getInstance());
+        }
+        *///?}
+    }
+}
@@ -0,0 +1,289 @@
+package com.author.example_mod.eternal.events;
+
+//? if fabric && < 1.20.5 {
+/*import net.fabricmc.api.EnvType;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.fabricmc.loader.api.FabricLoader;
+*///?} else if fabric {
+/*import net.fabricmc.api.EnvType;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+*///?} else if forge && <= 1.16.5 {
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.fml.network.NetworkRegistry;
+import net.minecraftforge.fml.network.PacketDistributor;
+import net.minecraftforge.fml.network.simple.SimpleChannel;
+//?} else if forge && < 1.18 {
+/*import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.fmllegacy.network.NetworkRegistry;
+import net.minecraftforge.fmllegacy.network.PacketDistributor;
+import net.minecraftforge.fmllegacy.network.simple.SimpleChannel;
+*///?} else if forge && <= 1.20.1 {
+/*import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.simple.SimpleChannel;
+*///?} else if forge {
+/*import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.network.ChannelBuilder;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.SimpleChannel;
+*///?} else if neoforge && < 1.20.4 {
+/*import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.neoforged.neoforge.network.NetworkRegistry;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.network.simple.SimpleChannel;
+*///?} else if neoforge && < 1.20.5 {
+/*import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlerEvent;
+import net.minecraft.network.packet.CustomPayload;
+*///?} else if neoforge {
+/*import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+*///?}
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+/**
+ * The loader side of {@link Networking}, a single "example_mod:eternal" channel whose payloads are the raw frames.
+ * Forge creates the channel during common setup and NeoForge registers it through its payload event, both whether or not anything listens,
+ * Fabric registers it the first time a message callback is registered or a message is sent.
+ * The channel is optional, connecting to a side without it works and frames for it are dropped instead of sent where the loader can tell.
+ */
+//? if forge {
+@Mod.EventBusSubscriber(modid =/*$ mod_id_string {*/"example_mod"/*$}*/, bus = Mod.EventBusSubscriber.Bus.MOD)
+ //?} else if neoforge {
+/*@EventBusSubscriber(modid = /^$ mod_id_string {^/"example_mod"/^$}^/, bus = EventBusSubscriber.Bus.MOD)
+ *///?}
+public class NetworkChannel {
+    //? if >= 1.21 {
+    /*private static final Identifier ID = Identifier.of(/^$ mod_id_string {^/"example_mod"/^$}^/, "eternal");
+    *///?} else {
+    private static final Identifier ID = new Identifier(/*$ mod_id_string {*/"example_mod"/*$}*/, "eternal");
+    //?}
+
+    private static boolean registered = false;
+    //? if forge || (neoforge && < 1.20.4) {
+    private static SimpleChannel channel;
+    //?}
+
+    //? if >= 1.20.5 {
+    /*private static class Frame implements CustomPayload {
+        private static final CustomPayload.Id<Frame> TYPE = new CustomPayload.Id<>(ID);
+        private static final PacketCodec<PacketByteBuf, Frame> CODEC = PacketCodec.of((frame, buf) -> buf.writeBytes(frame.bytes), buf -> new Frame(readBytes(buf)));
+
+        private final byte[] bytes;
+
+        private Frame(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public Id<? extends CustomPayload> getId() {
+            return TYPE;
+        }
+    }
+    *///?} else if neoforge && >= 1.20.4 {
+    /*private static class Frame implements CustomPayload {
+        private final byte[] bytes;
+
+        private Frame(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private static Frame read(PacketByteBuf buf) {
+            return new Frame(readBytes(buf));
+        }
+
+        @Override
+        public void write(PacketByteBuf buf) {
+            buf.writeBytes(bytes);
+        }
+
+        @Override
+        public Identifier id() {
+            return ID;
+        }
+    }
+    *///?} else if forge || neoforge {
+    private static class Frame {
+        private final byte[] bytes;
+
+        private Frame(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private static Frame read(PacketByteBuf buf) {
+            return new Frame(readBytes(buf));
+        }
+    }
+    //?}
+
+    /**
+     * Registers the channel and its receivers, only the first call does anything.
+     */
+    static synchronized void register() {
+        if (registered) return;
+        registered = true;
+        //? if fabric && < 1.20.5 {
+        /*ServerPlayNetworking.registerGlobalReceiver(ID, (server, player, handler, buf, responseSender) -> {
+            byte[] frame = readBytes(buf);
+            server.execute(() -> Networking.receive(player, frame));
+        });
+        if (FabricLoader.getInstance().getEnvironmentType() == EnvType.CLIENT) Client.register();
+        *///?} else if fabric {
+        /*PayloadTypeRegistry.playC2S().register(Frame.TYPE, Frame.CODEC);
+        PayloadTypeRegistry.playS2C().register(Frame.TYPE, Frame.CODEC);
+        ServerPlayNetworking.registerGlobalReceiver(Frame.TYPE, (frame, context) -> Networking.receive(context.player(), frame.bytes));
+        if (FabricLoader.getInstance().getEnvironmentType() == EnvType.CLIENT) Client.register();
+        *///?} else if forge && <= 1.20.1 {
+        channel = NetworkRegistry.newSimpleChannel(ID, () -> "1", version -> true, version -> true);
+        channel.registerMessage(0, Frame.class, (frame, buf) -> buf.writeBytes(frame.bytes), Frame::read, (frame, context) -> {
+            ServerPlayerEntity sender = context.get().getSender();
+            context.get().enqueueWork(() -> Networking.receive(sender, frame.bytes));
+            context.get().setPacketHandled(true);
+        });
+        //?} else if forge {
+        /*channel = ChannelBuilder.named(ID).networkProtocolVersion(1).acceptedVersions((status, version) -> true).simpleChannel()
+                .messageBuilder(Frame.class)
+                .encoder((frame, buf) -> buf.writeBytes(frame.bytes))
+                .decoder(Frame::read)
+                .consumerMainThread((frame, context) -> Networking.receive(context.getSender(), frame.bytes))
+                .add();
+        *///?} else if neoforge && < 1.20.4 {
+        /*channel = NetworkRegistry.newSimpleChannel(ID, () -> "1", version -> true, version -> true);
+        channel.registerMessage(0, Frame.class, (frame, buf) -> buf.writeBytes(frame.bytes), Frame::read, (frame, context) -> {
+            ServerPlayerEntity sender = context.getSender();
+            context.enqueueWork(() -> Networking.receive(sender, frame.bytes));
+            context.setPacketHandled(true);
+        });
+        *///?}
+    }
+
+    //? if forge || (neoforge && < 1.20.4) {
+    @SubscribeEvent
+    private static void onCommonSetup(FMLCommonSetupEvent event) {
+        event.enqueueWork(NetworkChannel::register);
+    }
+    //?} else if neoforge && < 1.20.5 {
+    /*@SubscribeEvent
+    private static void onRegisterPayloads(RegisterPayloadHandlerEvent event) {
+        event.registrar(/^$ mod_id_string {^/"example_mod"/^$}^/).optional().play(ID, Frame::read, (frame, context) -> context.workHandler().execute(() -> {
+            Object player = context.player().orElse(null);
+            Networking.receive(player instanceof ServerPlayerEntity ? (ServerPlayerEntity) player : null, frame.bytes);
+        }));
+    }
+    *///?} else if neoforge {
+    /*@SubscribeEvent
+    private static void onRegisterPayloads(RegisterPayloadHandlersEvent event) {
+        event.registrar("1").optional().playBidirectional(Frame.TYPE, Frame.CODEC, (frame, context) -> context.enqueueWork(() -> {
+            Object player = context.player();
+            Networking.receive(player instanceof ServerPlayerEntity ? (ServerPlayerEntity) player : null, frame.bytes);
+        }));
+    }
+    *///?}
+
+    static void sendToPlayer(ServerPlayerEntity player, byte[] frame) {
+        //? if fabric && < 1.20.5 {
+        /*if (!ServerPlayNetworking.canSend(player, ID)) return;
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeBytes(frame);
+        ServerPlayNetworking.send(player, ID, buf);
+        *///?} else if fabric {
+        /*if (ServerPlayNetworking.canSend(player, Frame.TYPE)) ServerPlayNetworking.send(player, new Frame(frame));
+        *///?} else if (forge && <= 1.20.1) || (neoforge && < 1.20.4) {
+        channel.send(PacketDistributor.PLAYER.with(() -> player), new Frame(frame));
+        //?} else if forge {
+        /*channel.send(new Frame(frame), PacketDistributor.PLAYER.with(player));
+        *///?} else if neoforge && < 1.20.5 {
+        /*PacketDistributor.PLAYER.with(player).send(new Frame(frame));
+        *///?} else if neoforge {
+        /*PacketDistributor.sendToPlayer(player, new Frame(frame));
+        *///?}
+    }
+
+    static void sendToServer(byte[] frame) {
+        Client.send(frame);
+    }
+
+    static boolean canSendToServer() {
+        return Client.canSend();
+    }
+
+    static byte[] readBytes(PacketByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Kept apart so the client only classes are never loaded on a dedicated server.
+     */
+    private static class Client {
+        private static void register() {
+            //? if fabric && < 1.20.5 {
+            /*ClientPlayNetworking.registerGlobalReceiver(ID, (client, handler, buf, responseSender) -> {
+                byte[] frame = readBytes(buf);
+                client.execute(() -> Networking.receive(null, frame));
+            });
+            *///?} else if fabric {
+            /*ClientPlayNetworking.registerGlobalReceiver(Frame.TYPE, (frame, context) -> Networking.receive(null, frame.bytes));
+            *///?}
+        }
+
+        private static boolean canSend() {
+            //? if fabric && < 1.20.5 {
+            /*return ClientPlayNetworking.canSend(ID);
+            *///?} else if fabric {
+            /*return ClientPlayNetworking.canSend(Frame.TYPE);
+            *///?} else {
+            return MinecraftClient.getInstance().getNetworkHandler() != null;
+            //?}
+        }
+
+        private static void send(byte[] frame) {
+            //? if fabric && < 1.20.5 {
+            /*PacketByteBuf buf = PacketByteBufs.create();
+            buf.writeBytes(frame);
+            ClientPlayNetworking.send(ID, buf);
+            *///?} else if fabric {
+            /*ClientPlayNetworking.send(new Frame(frame));
+            *///?} else if (forge && <= 1.20.1) || (neoforge && < 1.20.4) {
+            channel.sendToServer(new Frame(frame));
+            //?} else if forge {
+            /*channel.send(new Frame(frame), PacketDistributor.SERVER.noArg());
+            *///?} else if neoforge && < 1.20.5 {
+            /*PacketDistributor.SERVER.noArg().send(new Frame(frame));
+            *///?} else if neoforge && < 1.21.6 {
+            /*PacketDistributor.sendToServer(new Frame(frame));
+            *///?} else if neoforge {
+            /*net.neoforged.neoforge.client.network.ClientPacketDistributor.sendToServer(new Frame(frame));
+            *///?}
+        }
+    }
+}
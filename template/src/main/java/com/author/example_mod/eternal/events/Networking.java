@@ -0,0 +1,338 @@
+package com.author.example_mod.eternal.events;
+
+import com.author.example_mod.eternal.Events;
+import com.author.example_mod.eternal.Log;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Messages between the server and its clients over one channel, the same on every loader and version.
+ * A message is a type and whatever its writer puts into a {@link DataOutputStream}, the callbacks of {@link Events#serverMessage}
+ * and {@link Events#clientMessage} see every message and pick theirs by type, a callback that returns {@link Events.Result#CANCEL}
+ * hides the message from the callbacks with a lower priority.
+ * <p>
+ * Messages sent during a tick are batched per connection and sent as one frame at the end of the tick, in the order they were sent.
+ * Frames bigger than -Deternal.network.compressionThreshold bytes (256 by default, negative turns it off) are deflated.
+ * The buffers batches are written into are pooled, so sending a message allocates nothing until its frame is handed to the loader.
+ */
+public class Networking {
+    /**
+     * Called on the server thread for each message a client sent, the stream is only valid during the call.
+     */
+    @FunctionalInterface
+    public interface ServerMessageCallback {
+        Events.Result onMessage(ServerPlayerEntity player, String type, DataInputStream data) throws IOException;
+    }
+
+    /**
+     * Called on the client thread for each message the server sent, the stream is only valid during the call.
+     * Only register these from client code.
+     */
+    @FunctionalInterface
+    public interface ClientMessageCallback {
+        Events.Result onMessage(String type, DataInputStream data) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface MessageWriter {
+        void write(DataOutputStream data) throws IOException;
+    }
+
+    private static final int COMPRESSION_THRESHOLD = Integer.getInteger("eternal.network.compressionThreshold", 256);
+    /**
+     * Custom payloads sent to the server may be at most 32767 bytes, to clients 1 MiB, both leave room for the loader's own header.
+     */
+    private static final int MAX_TO_SERVER = 32000;
+    private static final int MAX_TO_CLIENT = 1000000;
+    private static final byte PLAIN = 0;
+    private static final byte COMPRESSED = 1;
+    private static final int POOL_SIZE = 16;
+    private static final int POOLED_CAPACITY = 64 * 1024;
+
+    private static final Object lock = new Object();
+    private static final ArrayDeque<Batch> pool = new ArrayDeque<>();
+    private static final Map<ServerPlayerEntity, Batch> toClients = new HashMap<>();
+    private static Batch toServer = null;
+    private static boolean serverHooked = false;
+    private static boolean clientHooked = false;
+
+    private static final ThreadLocal<Deflater> deflaters = ThreadLocal.withInitial(Deflater::new);
+    private static final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(Inflater::new);
+    private static final ThreadLocal<byte[][]> scratch = ThreadLocal.withInitial(() -> new byte[2][]);
+    private static final Log.Limiter invalidFrames = Log.limit(Log.Level.WARN, 5, 1, TimeUnit.MINUTES);
+
+    /**
+     * A growable buffer whose messages are laid out as type (UTF), length (int), data, reused through the pool.
+     */
+    private static class Batch extends ByteArrayOutputStream {
+        private final DataOutputStream data = new DataOutputStream(this);
+
+        private Batch() {
+            super(1024);
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
+
+        private void truncate(int size) {
+            count = size;
+        }
+
+        private void putInt(int index, int value) {
+            buf[index] = (byte) (value >>> 24);
+            buf[index + 1] = (byte) (value >>> 16);
+            buf[index + 2] = (byte) (value >>> 8);
+            buf[index + 3] = (byte) value;
+        }
+
+        /**
+         * Moves everything after the first size bytes to the front.
+         */
+        private void dropFront(int size) {
+            System.arraycopy(buf, size, buf, 0, count - size);
+            count -= size;
+        }
+
+        private byte[] array() {
+            return buf;
+        }
+    }
+
+    public static Event<ServerMessageCallback> createServerEvent() {
+        return new Event<>(ServerMessageCallback.class, callbacks -> (player, type, data) -> {
+            for (ServerMessageCallback callback : callbacks) {
+                data.reset();
+                if (callback.onMessage(player, type, data) == Events.Result.CANCEL) return Events.Result.CANCEL;
+            }
+            return Events.Result.PASS;
+        }, NetworkChannel::register);
+    }
+
+    public static Event<ClientMessageCallback> createClientEvent() {
+        return new Event<>(ClientMessageCallback.class, callbacks -> (type, data) -> {
+            for (ClientMessageCallback callback : callbacks) {
+                data.reset();
+                if (callback.onMessage(type, data) == Events.Result.CANCEL) return Events.Result.CANCEL;
+            }
+            return Events.Result.PASS;
+        }, NetworkChannel::register);
+    }
+
+    /**
+     * Queues a message to the server, only call this from client code, messages sent while not connected are dropped.
+     */
+    public static void sendToServer(String type, MessageWriter writer) {
+        NetworkChannel.register();
+        synchronized (lock) {
+            if (!clientHooked) {
+                clientHooked = true;
+                Events.clientTickEnd.register(client -> flushToServer(), Events.Priority.LOWEST);
+            }
+            if (toServer == null) toServer = acquire();
+            write(toServer, type, writer, MAX_TO_SERVER, NetworkChannel::sendToServer);
+        }
+    }
+
+    public static void sendToPlayer(ServerPlayerEntity player, String type, MessageWriter writer) {
+        sendToPlayers(Collections.singletonList(player), type, writer);
+    }
+
+    /**
+     * Queues the same message to every player, it is written once and copied into each player's batch.
+     */
+    public static void sendToPlayers(Collection<ServerPlayerEntity> players, String type, MessageWriter writer) {
+        if (players.isEmpty()) return;
+        NetworkChannel.register();
+        synchronized (lock) {
+            if (!serverHooked) {
+                serverHooked = true;
+                Events.serverTickEnd.register(server -> flushToClients(), Events.Priority.LOWEST);
+            }
+            Batch first = null;
+            int start = 0;
+            for (ServerPlayerEntity player : players) {
+                Batch batch = toClients.get(player);
+                if (batch == null) {
+                    batch = acquire();
+                    toClients.put(player, batch);
+                }
+                if (first == null) {
+                    first = batch;
+                    start = write(batch, type, writer, MAX_TO_CLIENT, frame -> NetworkChannel.sendToPlayer(player, frame));
+                } else {
+                    if (batch.size() + first.size() - start > MAX_TO_CLIENT) {
+                        NetworkChannel.sendToPlayer(player, encode(batch.array(), batch.size()));
+                        batch.reset();
+                    }
+                    batch.write(first.array(), start, first.size() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the message, sending what was already batched as its own frame first if both do not fit into one.
+     *
+     * @return where the message starts in the batch.
+     */
+    private static int write(Batch batch, String type, MessageWriter writer, int maxSize, FrameSender sender) {
+        int start = batch.size();
+        try {
+            batch.data.writeUTF(type);
+            int lengthIndex = batch.size();
+            batch.data.writeInt(0);
+            writer.write(batch.data);
+            batch.putInt(lengthIndex, batch.size() - lengthIndex - 4);
+        } catch (IOException | RuntimeException exception) {
+            batch.truncate(start);
+            throw new RuntimeException("Could not write network message " + type, exception);
+        }
+        if (batch.size() <= maxSize) return start;
+        if (start == 0) {
+            int size = batch.size();
+            batch.truncate(0);
+            throw new IllegalArgumentException("Network message " + type + " is " + size + " bytes, at most " + maxSize + " fit into a frame");
+        }
+        sender.send(encode(batch.array(), start));
+        batch.dropFront(start);
+        return 0;
+    }
+
+    @FunctionalInterface
+    private interface FrameSender {
+        void send(byte[] frame);
+    }
+
+    private static void flushToServer() {
+        synchronized (lock) {
+            if (toServer == null) return;
+            if (NetworkChannel.canSendToServer()) NetworkChannel.sendToServer(encode(toServer.array(), toServer.size()));
+            release(toServer);
+            toServer = null;
+        }
+    }
+
+    private static void flushToClients() {
+        synchronized (lock) {
+            if (toClients.isEmpty()) return;
+            for (Map.Entry<ServerPlayerEntity, Batch> entry : toClients.entrySet()) {
+                if (!entry.getKey().isDisconnected() && entry.getValue().size() > 0)
+                    NetworkChannel.sendToPlayer(entry.getKey(), encode(entry.getValue().array(), entry.getValue().size()));
+                release(entry.getValue());
+            }
+            toClients.clear();
+        }
+    }
+
+    private static Batch acquire() {
+        Batch batch = pool.poll();
+        return batch != null ? batch : new Batch();
+    }
+
+    private static void release(Batch batch) {
+        batch.reset();
+        if (batch.capacity() <= POOLED_CAPACITY && pool.size() < POOL_SIZE) pool.push(batch);
+    }
+
+    /**
+     * A frame is a flag byte followed by the messages, or when compressed by their length as an int and the deflated messages.
+     * Compression is skipped when it does not save anything.
+     */
+    private static byte[] encode(byte[] messages, int length) {
+        if (COMPRESSION_THRESHOLD >= 0 && length > COMPRESSION_THRESHOLD) {
+            Deflater deflater = deflaters.get();
+            deflater.reset();
+            deflater.setInput(messages, 0, length);
+            deflater.finish();
+            byte[] compressed = scratch(0, length);
+            int compressedLength = 0;
+            while (!deflater.finished() && compressedLength < length)
+                compressedLength += deflater.deflate(compressed, compressedLength, length - compressedLength);
+            if (deflater.finished() && compressedLength + 4 < length) {
+                byte[] frame = new byte[compressedLength + 5];
+                frame[0] = COMPRESSED;
+                frame[1] = (byte) (length >>> 24);
+                frame[2] = (byte) (length >>> 16);
+                frame[3] = (byte) (length >>> 8);
+                frame[4] = (byte) length;
+                System.arraycopy(compressed, 0, frame, 5, compressedLength);
+                return frame;
+            }
+        }
+        byte[] frame = new byte[length + 1];
+        frame[0] = PLAIN;
+        System.arraycopy(messages, 0, frame, 1, length);
+        return frame;
+    }
+
+    /**
+     * Called by the loader bridge on the main thread for every frame received.
+     *
+     * @param player the sender, null when the frame came from the server.
+     */
+    static void receive(ServerPlayerEntity player, byte[] frame) {
+        try {
+            if (frame.length == 0) throw new IOException("Empty frame");
+            if (frame[0] == PLAIN) dispatch(player, frame, 1, frame.length - 1);
+            else if (frame[0] == COMPRESSED && frame.length >= 5) {
+                int length = ((frame[1] & 0xFF) << 24) | ((frame[2] & 0xFF) << 16) | ((frame[3] & 0xFF) << 8) | (frame[4] & 0xFF);
+                int maxLength = player != null ? MAX_TO_SERVER : MAX_TO_CLIENT;
+                if (length < 0 || length > maxLength) throw new IOException("Frame claims " + length + " bytes, at most " + maxLength + " are allowed");
+                Inflater inflater = inflaters.get();
+                inflater.reset();
+                inflater.setInput(frame, 5, frame.length - 5);
+                byte[] messages = scratch(1, length);
+                int inflated = 0;
+                while (inflated < length && !inflater.finished()) {
+                    int count = inflater.inflate(messages, inflated, length - inflated);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                    inflated += count;
+                }
+                if (inflated != length || !inflater.finished()) throw new IOException("Frame does not inflate to the " + length + " bytes it claims");
+                dispatch(player, messages, 0, length);
+            } else throw new IOException("Unknown frame flag " + frame[0]);
+        } catch (IOException | DataFormatException exception) {
+            invalidFrames.log("Dropped an invalid network frame from {}: {}", player != null ? player.getName().getString() : "the server", exception.toString());
+        }
+    }
+
+    private static void dispatch(ServerPlayerEntity player, byte[] messages, int offset, int length) throws IOException {
+        ByteArrayInputStream frameInput = new ByteArrayInputStream(messages, offset, length);
+        DataInputStream frameData = new DataInputStream(frameInput);
+        while (frameInput.available() > 0) {
+            String type = frameData.readUTF();
+            int size = frameData.readInt();
+            if (size < 0 || size > frameInput.available()) throw new IOException("Message " + type + " claims " + size + " bytes but only " + frameInput.available() + " are left");
+            int start = offset + length - frameInput.available();
+            frameInput.skip(size);
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(messages, start, size));
+            try {
+                if (player != null) Events.serverMessage.invoker().onMessage(player, type, data);
+                else Events.clientMessage.invoker().onMessage(type, data);
+            } catch (Exception exception) {
+                Log.error("Handling network message " + type + " failed", exception);
+            }
+        }
+    }
+
+    /**
+     * A per thread array of at least the given size, index 0 is used for compressing and 1 for inflating.
+     */
+    private static byte[] scratch(int index, int size) {
+        byte[][] arrays = scratch.get();
+        if (arrays[index] == null || arrays[index].length < size)
+            arrays[index] = new byte[Math.max(size, arrays[index] == null ? 4096 : arrays[index].length * 2)];
+        return arrays[index];
+    }
+}
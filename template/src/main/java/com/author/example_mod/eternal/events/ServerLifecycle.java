@@ -0,0 +1,21 @@
+package com.author.example_mod.eternal.events;
+
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Server lifecycle events, called on the server thread. In singleplayer a server stops every time a world is left.
+ * The loader's events are hooked up by {@link LoaderEvents}.
+ */
+public class ServerLifecycle {
+    @FunctionalInterface
+    public interface ServerStoppingCallback {
+        void onStopping(MinecraftServer server);
+    }
+
+    public static Event<ServerStoppingCallback> createStoppingEvent() {
+        return new Event<>(ServerStoppingCallback.class, callbacks -> server -> {
+            for (ServerStoppingCallback callback : callbacks)
+                callback.onStopping(server);
+        }, LoaderEvents::hookServerStopping);
+    }
+}
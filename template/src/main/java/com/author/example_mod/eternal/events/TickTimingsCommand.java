@@ -0,0 +1,57 @@
+package com.author.example_mod.eternal.events;
+
+import com.author.example_mod.eternal.Utils;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+
+import java.util.List;
+
+/**
+ * "/example_mod ticks (start|stop|reset)" lists the slowest tick callbacks timed by {@link ListenerTimings}.
+ * Registered once from the common init, whether or not anything listens to a tick event on that side.
+ */
+public class TickTimingsCommand {
+    private static boolean registered = false;
+
+    /**
+     * Only registers the command the first time it is called.
+     */
+    public static synchronized void register() {
+        if (registered) return;
+        registered = true;
+        CommandRegistration.registerCached(environment ->
+                CommandManager.literal(/*$ mod_id_string {*/"example_mod"/*$}*/)
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .then(CommandManager.literal("ticks")
+                                .executes(context -> {
+                                    List<String> lines = ListenerTimings.describeSlowest(10);
+                                    if (lines.isEmpty()) sendFeedback(context.getSource(), ListenerTimings.enabled ? "No tick callbacks were timed yet." : "Tick timing is off, start it with 'ticks start'.");
+                                    for (String line : lines)
+                                        sendFeedback(context.getSource(), line);
+                                    return lines.size();
+                                })
+                                .then(CommandManager.literal("start").executes(context -> {
+                                    ListenerTimings.enabled = true;
+                                    sendFeedback(context.getSource(), "Started timing tick callbacks.");
+                                    return 1;
+                                }))
+                                .then(CommandManager.literal("stop").executes(context -> {
+                                    ListenerTimings.enabled = false;
+                                    sendFeedback(context.getSource(), "Stopped timing tick callbacks.");
+                                    return 1;
+                                }))
+                                .then(CommandManager.literal("reset").executes(context -> {
+                                    ListenerTimings.reset();
+                                    sendFeedback(context.getSource(), "Cleared tick timings.");
+                                    return 1;
+                                }))));
+    }
+
+    private static void sendFeedback(ServerCommandSource source, String message) {
+        //? if >= 1.20 {
+        /*source.sendFeedback(() -> Utils.literalText(message), false);
+        *///?} else {
+        source.sendFeedback(Utils.literalText(message), false);
+        //?}
+    }
+}
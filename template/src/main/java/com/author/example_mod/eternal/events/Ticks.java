@@ -0,0 +1,59 @@
+package com.author.example_mod.eternal.events;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Start and end of server and client ticks, with optional per callback timing through {@link ListenerTimings}.
+ * The timings are listed by {@link TickTimingsCommand}, the loader's tick events are hooked up by {@link LoaderEvents}.
+ */
+public class Ticks {
+    @FunctionalInterface
+    public interface ServerTickCallback {
+        void onTick(MinecraftServer server);
+    }
+
+    /**
+     * Only register these from client code.
+     */
+    @FunctionalInterface
+    public interface ClientTickCallback {
+        void onTick(MinecraftClient client);
+    }
+
+    public static Event<ServerTickCallback> createServerEvent(String name, boolean start) {
+        return new Event<>(ServerTickCallback.class, callbacks -> {
+            ListenerTimings[] timings = ListenerTimings.of(name, callbacks);
+            return server -> {
+                if (!ListenerTimings.enabled) {
+                    for (ServerTickCallback callback : callbacks)
+                        callback.onTick(server);
+                    return;
+                }
+                for (int i = 0; i < callbacks.length; i++) {
+                    long startTime = System.nanoTime();
+                    callbacks[i].onTick(server);
+                    timings[i].record(System.nanoTime() - startTime);
+                }
+            };
+        }, () -> LoaderEvents.hookServerTick(start));
+    }
+
+    public static Event<ClientTickCallback> createClientEvent(String name, boolean start) {
+        return new Event<>(ClientTickCallback.class, callbacks -> {
+            ListenerTimings[] timings = ListenerTimings.of(name, callbacks);
+            return client -> {
+                if (!ListenerTimings.enabled) {
+                    for (ClientTickCallback callback : callbacks)
+                        callback.onTick(client);
+                    return;
+                }
+                for (int i = 0; i < callbacks.length; i++) {
+                    long startTime = System.nanoTime();
+                    callbacks[i].onTick(client);
+                    timings[i].record(System.nanoTime() - startTime);
+                }
+            };
+        }, () -> LoaderEvents.hookClientTick(start));
+    }
+}
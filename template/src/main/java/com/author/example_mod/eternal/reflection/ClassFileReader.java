@@ -0,0 +1,242 @@
+package com.author.example_mod.eternal.reflection;
+
+import com.author.example_mod.eternal.reflection.ReflectionIndex.ClassEntry;
+import com.author.example_mod.eternal.reflection.ReflectionIndex.MemberEntry;
+
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reads the header, fields and methods of a class file without loading or initializing the class.
+ * Only the parts of the format the index needs are decoded, everything else is skipped.
+ */
+public class ClassFileReader {
+    private static final int CLASS_MODIFIERS = Modifier.PUBLIC | Modifier.FINAL | Modifier.INTERFACE | Modifier.ABSTRACT;
+
+    private final ByteBuffer buffer;
+    private final int[] offsets;
+    private final byte[] tags;
+
+    private ClassFileReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt() != 0xCAFEBABE) throw new IllegalArgumentException("Not a class file");
+        buffer.getShort();
+        buffer.getShort();
+        offsets = new int[buffer.getShort() & 0xFFFF];
+        tags = new byte[offsets.length];
+        for (int i = 1; i < offsets.length; i++) {
+            int tag = buffer.get() & 0xFF;
+            tags[i] = (byte) tag;
+            offsets[i] = buffer.position();
+            switch (tag) {
+                case 1:
+                    int length = buffer.getShort() & 0xFFFF;
+                    buffer.position(buffer.position() + length);
+                    break;
+                case 5:
+                case 6:
+                    buffer.position(buffer.position() + 8);
+                    i++;
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    buffer.position(buffer.position() + 4);
+                    break;
+                case 15:
+                    buffer.position(buffer.position() + 3);
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    buffer.position(buffer.position() + 2);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    public static ClassEntry read(byte[] bytes) {
+        return new ClassFileReader(ByteBuffer.wrap(bytes)).readClass();
+    }
+
+    /**
+     * Lists every class, field and method the class file references whose owner starts with one of the prefixes, as {@link SymbolReport} symbols.
+     * Classes only named in descriptors and annotations such as a mixin target are included too.
+     */
+    public static Set<String> readReferences(byte[] bytes, List<String> prefixes) {
+        return new ClassFileReader(ByteBuffer.wrap(bytes)).readReferences(prefixes);
+    }
+
+    private Set<String> readReferences(List<String> prefixes) {
+        Set<String> symbols = new TreeSet<>();
+        for (int i = 1; i < offsets.length; i++) {
+            switch (tags[i]) {
+                case 1:
+                    String value = utf8(i);
+                    // Only whole descriptors, so string constants that happen to contain a class name are skipped.
+                    if (value.startsWith("L") || value.startsWith("[") || value.startsWith("("))
+                        for (int position = value.indexOf('L'); position != -1; position = value.indexOf('L', position + 1)) {
+                            // Generic signatures continue with type arguments after the class name.
+                            int end = position + 1;
+                            while (end < value.length() && value.charAt(end) != ';' && value.charAt(end) != '<')
+                                end++;
+                            if (end == value.length()) break;
+                            addClass(symbols, value.substring(position + 1, end).replace('/', '.'), prefixes);
+                            position = end;
+                        }
+                    break;
+                case 7:
+                    String className = className(i);
+                    if (className.startsWith("[")) className = typeName(className.replace('.', '/'), className.lastIndexOf('[') + 1);
+                    addClass(symbols, className, prefixes);
+                    break;
+                case 9:
+                case 10:
+                case 11:
+                    String owner = className(buffer.getShort(offsets[i]) & 0xFFFF);
+                    if (owner.startsWith("[") || !matches(owner, prefixes)) break;
+                    int nameAndType = offsets[buffer.getShort(offsets[i] + 2) & 0xFFFF];
+                    String name = utf8(buffer.getShort(nameAndType) & 0xFFFF);
+                    String descriptor = utf8(buffer.getShort(nameAndType + 2) & 0xFFFF);
+                    // The index has no constructors, the owner is still checked through its class entry.
+                    if (name.startsWith("<")) break;
+                    symbols.add((tags[i] == 9 ? "field " : "method ") + owner + " " + name + " " + descriptor);
+                    break;
+            }
+        }
+        return symbols;
+    }
+
+    private static void addClass(Set<String> symbols, String className, List<String> prefixes) {
+        if (matches(className, prefixes)) symbols.add("class " + className);
+    }
+
+    private static boolean matches(String className, List<String> prefixes) {
+        for (String prefix : prefixes)
+            if (className.startsWith(prefix)) return true;
+        return false;
+    }
+
+    private ClassEntry readClass() {
+        int access = buffer.getShort() & CLASS_MODIFIERS;
+        String name = className(buffer.getShort() & 0xFFFF);
+        int superIndex = buffer.getShort() & 0xFFFF;
+        String[] interfaces = new String[buffer.getShort() & 0xFFFF];
+        for (int i = 0; i < interfaces.length; i++)
+            interfaces[i] = className(buffer.getShort() & 0xFFFF);
+
+        ClassEntry entry = new ClassEntry(name, access, superIndex == 0 ? null : className(superIndex), interfaces);
+        int fieldCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < fieldCount; i++) {
+            int fieldAccess = buffer.getShort() & Modifier.fieldModifiers();
+            String fieldName = utf8(buffer.getShort() & 0xFFFF);
+            String descriptor = utf8(buffer.getShort() & 0xFFFF);
+            skipAttributes();
+            entry.fields.add(new MemberEntry(fieldName, fieldAccess, typeName(descriptor, 0), new String[0]));
+        }
+        int methodCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < methodCount; i++) {
+            int methodAccess = buffer.getShort() & Modifier.methodModifiers();
+            String methodName = utf8(buffer.getShort() & 0xFFFF);
+            String descriptor = utf8(buffer.getShort() & 0xFFFF);
+            skipAttributes();
+            // Reflection does not report constructors and static initializers as methods either.
+            if (methodName.startsWith("<")) continue;
+            List<String> params = new ArrayList<>();
+            int position = 1;
+            while (descriptor.charAt(position) != ')') {
+                params.add(typeName(descriptor, position));
+                position = skipType(descriptor, position);
+            }
+            entry.methods.add(new MemberEntry(methodName, methodAccess, typeName(descriptor, position + 1), params.toArray(new String[0])));
+        }
+        return entry;
+    }
+
+    private void skipAttributes() {
+        int count = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            buffer.getShort();
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    private String className(int index) {
+        String internal = utf8(buffer.getShort(offsets[index]) & 0xFFFF);
+        return internal.replace('/', '.');
+    }
+
+    /**
+     * Decodes modified UTF-8, class names and descriptors are almost always plain ASCII.
+     */
+    private String utf8(int index) {
+        int offset = offsets[index];
+        int length = buffer.getShort(offset) & 0xFFFF;
+        char[] chars = new char[length];
+        int count = 0;
+        int position = offset + 2;
+        int end = position + length;
+        while (position < end) {
+            int a = buffer.get(position++) & 0xFF;
+            if (a < 0x80) chars[count++] = (char) a;
+            else if ((a & 0xE0) == 0xC0) chars[count++] = (char) (((a & 0x1F) << 6) | (buffer.get(position++) & 0x3F));
+            else {
+                int b = buffer.get(position++) & 0x3F;
+                int c = buffer.get(position++) & 0x3F;
+                chars[count++] = (char) (((a & 0x0F) << 12) | (b << 6) | c);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * Converts the descriptor type starting at position into {@link Class#getName()} form.
+     */
+    public static String typeName(String descriptor, int position) {
+        switch (descriptor.charAt(position)) {
+            case 'Z':
+                return "boolean";
+            case 'B':
+                return "byte";
+            case 'S':
+                return "short";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'F':
+                return "float";
+            case 'D':
+                return "double";
+            case 'C':
+                return "char";
+            case 'V':
+                return "void";
+            case '[':
+                return descriptor.substring(position, skipType(descriptor, position)).replace('/', '.');
+            default:
+                return descriptor.substring(position + 1, descriptor.indexOf(';', position)).replace('/', '.');
+        }
+    }
+
+    private static int skipType(String descriptor, int position) {
+        while (descriptor.charAt(position) == '[')
+            position++;
+        if (descriptor.charAt(position) == 'L') return descriptor.indexOf(';', position) + 1;
+        return position + 1;
+    }
+}
@@ -0,0 +1,107 @@
+package com.author.example_mod.eternal.reflection;
+
+import com.author.example_mod.eternal.reflection.ReflectionIndex.ClassEntry;
+import com.author.example_mod.eternal.reflection.ReflectionIndex.MemberEntry;
+
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Inverted index from field type and method return type to the members of a set of classes.
+ * Assignability is then checked once per distinct type instead of once per member.
+ */
+public class MemberTypeIndex {
+    public static class Hit {
+        public Hit(ClassEntry owner, MemberEntry member, int order) {
+            this.owner = owner;
+            this.member = member;
+            this.order = order;
+        }
+
+        /**
+         * The class declaring the member.
+         */
+        public final ClassEntry owner;
+        public final MemberEntry member;
+        private final int order;
+    }
+
+    private final Map<String, List<Hit>> fieldsByType = new LinkedHashMap<>();
+    private final Map<String, List<Hit>> methodsByReturnType = new LinkedHashMap<>();
+
+    /**
+     * @param inherited also index the members declared by every superclass and interface of the owners,
+     *                  private members of those are skipped as they are not inherited.
+     */
+    public MemberTypeIndex(ReflectionIndex index, List<ClassEntry> owners, boolean inherited) {
+        Set<String> directOwners = new HashSet<>();
+        for (ClassEntry owner : owners)
+            directOwners.add(owner.name);
+
+        Set<String> seen = new HashSet<>();
+        List<ClassEntry> ordered = new ArrayList<>();
+        for (ClassEntry owner : owners) {
+            Deque<ClassEntry> queue = new ArrayDeque<>();
+            queue.add(owner);
+            while (!queue.isEmpty()) {
+                ClassEntry current = queue.poll();
+                if (!seen.add(current.name)) continue;
+                ordered.add(current);
+                if (!inherited) continue;
+                if (current.superName != null) index.getClass(current.superName).ifPresent(queue::add);
+                for (String interfaceName : current.interfaces)
+                    index.getClass(interfaceName).ifPresent(queue::add);
+            }
+        }
+
+        int order = 0;
+        for (ClassEntry owner : ordered) {
+            boolean direct = directOwners.contains(owner.name);
+            for (MemberEntry field : owner.fields)
+                if (direct || !Modifier.isPrivate(field.modifiers))
+                    fieldsByType.computeIfAbsent(field.type, type -> new ArrayList<>()).add(new Hit(owner, field, order++));
+            for (MemberEntry method : owner.methods)
+                if (direct || !Modifier.isPrivate(method.modifiers))
+                    methodsByReturnType.computeIfAbsent(method.type, type -> new ArrayList<>()).add(new Hit(owner, method, order++));
+        }
+    }
+
+    public List<Hit> findFields(ReflectionIndex index, String targetType, boolean requireStatic) {
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<String, List<Hit>> entry : fieldsByType.entrySet())
+            if (index.isAssignable(targetType, entry.getKey()))
+                for (Hit hit : entry.getValue())
+                    if (hit.member.isStatic() == requireStatic)
+                        hits.add(hit);
+        hits.sort(Comparator.comparingInt(hit -> hit.order));
+        return hits;
+    }
+
+    /**
+     * Every param of a found method must be assignable to one of the given param types, no param types matches anything.
+     */
+    public List<Hit> findMethods(ReflectionIndex index, String targetType, boolean requireStatic, Set<String> paramTypes) {
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<String, List<Hit>> entry : methodsByReturnType.entrySet())
+            if (index.isAssignable(targetType, entry.getKey()))
+                for (Hit hit : entry.getValue())
+                    if (hit.member.isStatic() == requireStatic && paramsMatch(index, hit.member, paramTypes))
+                        hits.add(hit);
+        hits.sort(Comparator.comparingInt(hit -> hit.order));
+        return hits;
+    }
+
+    private static boolean paramsMatch(ReflectionIndex index, MemberEntry method, Set<String> paramTypes) {
+        if (paramTypes.isEmpty()) return true;
+        for (String actualParamType : method.paramTypes) {
+            boolean foundMatchForActualParam = false;
+            for (String possibleType : paramTypes)
+                if (index.isAssignable(possibleType, actualParamType)) {
+                    foundMatchForActualParam = true;
+                    break;
+                }
+            if (!foundMatchForActualParam) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.author.example_mod.eternal.reflection;
+
+import com.author.example_mod.eternal.Utils;
+
+/**
+ * A single answer to a {@link ReflectionQuery}, renderable as the classic text line or as a JSON line.
+ */
+public class QueryResult {
+    public enum Kind {
+        CLASS,
+        FIELD,
+        METHOD
+    }
+
+    public QueryResult(Kind kind, String owner, String name, String descriptor, boolean isStatic, boolean exists, String text) {
+        this.kind = kind;
+        this.owner = owner;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.isStatic = isStatic;
+        this.exists = exists;
+        this.text = text;
+    }
+
+    public final Kind kind;
+    /**
+     * Null for classes.
+     */
+    public final String owner;
+    public final String name;
+    /**
+     * The JVM descriptor, null when it could not be determined such as for a missing method without params.
+     */
+    public final String descriptor;
+    public final boolean isStatic;
+    public final boolean exists;
+    private final String text;
+
+    public String toText() {
+        return text;
+    }
+
+    public String toJson() {
+        return "{\"kind\":\"" + kind.name().toLowerCase() + "\"" +
+                ",\"owner\":" + Utils.jsonString(owner) +
+                ",\"name\":" + Utils.jsonString(name) +
+                ",\"descriptor\":" + Utils.jsonString(descriptor) +
+                ",\"static\":" + isStatic +
+                ",\"exists\":" + exists + "}";
+    }
+
+    /**
+     * Converts a {@link Class#getName()} style type name into a JVM type descriptor.
+     */
+    public static String typeDescriptor(String typeName) {
+        switch (typeName) {
+            case "boolean":
+                return "Z";
+            case "byte":
+                return "B";
+            case "short":
+                return "S";
+            case "int":
+                return "I";
+            case "long":
+                return "J";
+            case "float":
+                return "F";
+            case "double":
+                return "D";
+            case "char":
+                return "C";
+            case "void":
+                return "V";
+            default:
+                if (typeName.startsWith("[")) return typeName.replace('.', '/');
+                return "L" + typeName.replace('.', '/') + ";";
+        }
+    }
+
+    public static String methodDescriptor(String[] paramTypes, String returnType) {
+        StringBuilder builder = new StringBuilder("(");
+        for (String paramType : paramTypes)
+            builder.append(typeDescriptor(paramType));
+        return builder.append(')').append(typeDescriptor(returnType)).toString();
+    }
+}
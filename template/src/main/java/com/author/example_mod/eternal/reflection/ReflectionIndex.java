@@ -0,0 +1,583 @@
+package com.author.example_mod.eternal.reflection;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * On-disk index of classes, fields and methods for a single runtime classpath.
+ * Classes are scanned the first time they are queried and the result is persisted, keyed by a hash of the classpath jars and the JDK,
+ * so later runs against the same libraries answer straight from the index.
+ * Classes from class folders, such as the project's own output, are scanned again by every run and never persisted,
+ * so recompiling the project keeps the index. Only the {@link #KEPT_INDEXES} most recently used indexes are kept.
+ */
+public class ReflectionIndex {
+    private static final String HEADER = "#eternal-reflection-index 2";
+    public static final int KEPT_INDEXES = 4;
+
+    /**
+     * How classes missing from the index are scanned, chosen with -Deternal.reflection.backend.
+     */
+    public enum Backend {
+        /**
+         * Parses class files straight from the classpath, nothing is ever loaded or initialized.
+         */
+        BYTECODE,
+        /**
+         * Loads classes without initializing them and reflects on them.
+         */
+        REFLECTION
+    }
+
+    private static final Map<String, String> TYPE_ALIASES = new HashMap<>();
+
+    static {
+        for (String primitive : new String[]{"boolean", "byte", "short", "int", "long", "float", "double", "char", "void"}) {
+            TYPE_ALIASES.put(primitive, primitive);
+            TYPE_ALIASES.put(Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1), primitive);
+        }
+        TYPE_ALIASES.put("string", "java.lang.String");
+        TYPE_ALIASES.put("String", "java.lang.String");
+    }
+
+    public static class MemberEntry {
+        public MemberEntry(String name, int modifiers, String type, String[] paramTypes) {
+            this.name = name;
+            this.modifiers = modifiers;
+            this.type = type;
+            this.paramTypes = paramTypes;
+        }
+
+        public final String name;
+        public final int modifiers;
+        /**
+         * The field type or method return type.
+         */
+        public final String type;
+        /**
+         * Empty for fields.
+         */
+        public final String[] paramTypes;
+
+        public boolean isStatic() {
+            return Modifier.isStatic(modifiers);
+        }
+    }
+
+    public static class ClassEntry {
+        public ClassEntry(String name, int modifiers, String superName, String[] interfaces) {
+            this.name = name;
+            this.modifiers = modifiers;
+            this.superName = superName;
+            this.interfaces = interfaces;
+        }
+
+        public final String name;
+        public final int modifiers;
+        public final String superName;
+        public final String[] interfaces;
+        public final List<MemberEntry> fields = new ArrayList<>();
+        public final List<MemberEntry> methods = new ArrayList<>();
+
+        public boolean isPrimitive() {
+            return TYPE_ALIASES.containsValue(name) && !name.contains(".");
+        }
+
+        public Optional<MemberEntry> getField(String fieldName) {
+            for (MemberEntry field : fields)
+                if (field.name.equals(fieldName)) return Optional.of(field);
+            return Optional.empty();
+        }
+
+        /**
+         * Matches {@link Class#toString()}.
+         */
+        @Override
+        public String toString() {
+            if (isPrimitive()) return name;
+            return (Modifier.isInterface(modifiers) ? "interface " : "class ") + name;
+        }
+    }
+
+    private final File file;
+    private final String classpathHash;
+    private final ClassLoader classLoader;
+    private final Backend backend;
+    private final Map<String, ClassEntry> classes = new HashMap<>();
+    private final Set<String> missingClasses = new HashSet<>();
+    private final Map<String, Boolean> assignableCache = new HashMap<>();
+    private final List<File> classFolders = new ArrayList<>();
+    private List<String> classNames;
+    private List<String> runtimeClassNames;
+    /**
+     * The jar or folder each class is read from, the first classpath entry wins like it does for class loaders.
+     */
+    private final Map<String, File> classLocations = new HashMap<>();
+    private boolean dirty = false;
+
+    private ReflectionIndex(File file, String classpathHash, ClassLoader classLoader, Backend backend) {
+        this.file = file;
+        this.classpathHash = classpathHash;
+        this.classLoader = classLoader;
+        this.backend = backend;
+        for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator))
+            if (!path.isEmpty() && new File(path).isDirectory()) classFolders.add(new File(path));
+    }
+
+    /**
+     * Opens the index for the current classpath jars, the directory defaults to build/reflection-index.
+     */
+    public static ReflectionIndex open(ClassLoader classLoader) {
+        Backend backend = Backend.valueOf(System.getProperty("eternal.reflection.backend", "bytecode").toUpperCase());
+        // The backends report slightly different modifiers so each gets its own index, JDK classes are indexed too so the JDK is part of the key.
+        String hash = hashClasspath(libraries(), backend + " " + System.getProperty("java.home") + " " + System.getProperty("java.version"));
+        File directory = new File(System.getProperty("eternal.reflection.indexDir", "build/reflection-index"));
+        ReflectionIndex index = new ReflectionIndex(new File(directory, hash + ".idx"), hash, classLoader, backend);
+        index.load();
+        return index;
+    }
+
+    /**
+     * A loader over the runtime classpath that does not delegate to the application loader,
+     * so queried classes never mix with the classes running the query.
+     */
+    public static ClassLoader isolatedClassLoader() {
+        List<URL> urls = new ArrayList<>();
+        for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (path.isEmpty()) continue;
+            try {
+                urls.add(new File(path).toURI().toURL());
+            } catch (MalformedURLException exception) {
+                throw new RuntimeException("Invalid classpath entry: " + path, exception);
+            }
+        }
+        return new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    public String getClasspathHash() {
+        return classpathHash;
+    }
+
+    /**
+     * Resolves primitive and String aliases such as "Int" or "string" to their real type names.
+     */
+    public static String canonicalName(String typeName) {
+        return TYPE_ALIASES.getOrDefault(typeName, typeName);
+    }
+
+    public Optional<ClassEntry> getClass(String className) {
+        String name = canonicalName(className);
+        ClassEntry entry = classes.get(name);
+        if (entry != null) return Optional.of(entry);
+        if (missingClasses.contains(name)) return Optional.empty();
+
+        entry = scan(name);
+        if (entry == null) {
+            missingClasses.add(name);
+            dirty = true;
+            return Optional.empty();
+        }
+        classes.put(name, entry);
+        if (!inClassFolder(name)) dirty = true;
+        return Optional.of(entry);
+    }
+
+    /**
+     * Whether a class folder has the class, such classes may change with every compile so they are not persisted.
+     */
+    private boolean inClassFolder(String className) {
+        if (classFolders.isEmpty() || className.startsWith("[")) return false;
+        String path = className.replace('.', '/') + ".class";
+        for (File folder : classFolders)
+            if (new File(folder, path).isFile()) return true;
+        return false;
+    }
+
+    /**
+     * Mirrors {@link Class#isAssignableFrom(Class)} using only indexed information.
+     */
+    public boolean isAssignable(String targetType, String actualType) {
+        if (targetType.equals(actualType)) return true;
+        String key = targetType + " " + actualType;
+        Boolean cached = assignableCache.get(key);
+        if (cached == null) {
+            cached = computeAssignable(targetType, actualType);
+            assignableCache.put(key, cached);
+        }
+        return cached;
+    }
+
+    private boolean computeAssignable(String targetType, String actualType) {
+        boolean actualIsArray = actualType.startsWith("[");
+        if (targetType.startsWith("[")) {
+            if (!actualIsArray) return false;
+            String targetComponent = targetType.substring(1);
+            String actualComponent = actualType.substring(1);
+            if (targetComponent.startsWith("L") && actualComponent.startsWith("L"))
+                return isAssignable(targetComponent.substring(1, targetComponent.length() - 1), actualComponent.substring(1, actualComponent.length() - 1));
+            if (targetComponent.startsWith("[") && actualComponent.startsWith("["))
+                return isAssignable(targetComponent, actualComponent);
+            if (targetComponent.equals("Ljava.lang.Object;")) return actualComponent.startsWith("[");
+            return false;
+        }
+        if (actualIsArray)
+            return targetType.equals("java.lang.Object") || targetType.equals("java.lang.Cloneable") || targetType.equals("java.io.Serializable");
+
+        Optional<ClassEntry> actual = getClass(actualType);
+        if (!actual.isPresent() || actual.get().isPrimitive()) return false;
+        if (targetType.equals("java.lang.Object")) return true;
+
+        Deque<String> queue = new ArrayDeque<>();
+        Set<String> seen = new HashSet<>();
+        queue.add(actualType);
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            if (!seen.add(current)) continue;
+            if (current.equals(targetType)) return true;
+            Optional<ClassEntry> entry = getClass(current);
+            if (!entry.isPresent()) continue;
+            if (entry.get().superName != null) queue.add(entry.get().superName);
+            queue.addAll(Arrays.asList(entry.get().interfaces));
+        }
+        return false;
+    }
+
+    /**
+     * Expands a class pattern into class names, "pkg.*" matches classes directly in pkg and "pkg.**" also matches sub packages.
+     * Classes of the JDK match too, see {@link #listRuntimeClasses()}. Patterns without a wildcard are returned unchanged.
+     */
+    public List<String> matchClasses(String pattern) {
+        if (!pattern.endsWith("*")) return Collections.singletonList(pattern);
+        boolean recursive = pattern.endsWith("**");
+        String prefix = pattern.substring(0, pattern.length() - (recursive ? 2 : 1));
+        Set<String> matches = new LinkedHashSet<>();
+        for (List<String> names : Arrays.asList(listClasses(), listRuntimeClasses()))
+            for (String className : names)
+                if (className.startsWith(prefix) && (recursive || className.indexOf('.', prefix.length()) == -1))
+                    matches.add(className);
+        return new ArrayList<>(matches);
+    }
+
+    /**
+     * Every class name on the runtime classpath, read from jar directories and class folders without loading anything.
+     */
+    public List<String> listClasses() {
+        if (classNames != null) return classNames;
+        for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            File entry = new File(path);
+            if (entry.isDirectory()) listDirectory(entry, entry, "");
+            else if (entry.isFile()) {
+                try (ZipFile zip = new ZipFile(entry)) {
+                    Enumeration<? extends ZipEntry> entries = zip.entries();
+                    while (entries.hasMoreElements())
+                        addClassName(entries.nextElement().getName(), entry);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        classNames = new ArrayList<>(new TreeSet<>(classLocations.keySet()));
+        return classNames;
+    }
+
+    /**
+     * Every class name of the JDK, which is not on java.class.path. Read from the jrt image on Java 9 and later,
+     * or from the boot class path jars on Java 8. Only listed the first time a wildcard needs them.
+     */
+    public List<String> listRuntimeClasses() {
+        if (runtimeClassNames != null) return runtimeClassNames;
+        Set<String> names = new TreeSet<>();
+        String bootClasspath = System.getProperty("sun.boot.class.path");
+        if (bootClasspath != null) {
+            for (String path : bootClasspath.split(File.pathSeparator)) {
+                if (!new File(path).isFile()) continue;
+                try (ZipFile zip = new ZipFile(path)) {
+                    Enumeration<? extends ZipEntry> entries = zip.entries();
+                    while (entries.hasMoreElements())
+                        addRuntimeClassName(entries.nextElement().getName(), names);
+                } catch (IOException ignored) {
+                }
+            }
+        } else {
+            try {
+                Path modules = FileSystems.getFileSystem(URI.create("jrt:/")).getPath("/modules");
+                try (DirectoryStream<Path> moduleFolders = Files.newDirectoryStream(modules)) {
+                    for (Path module : moduleFolders)
+                        Files.walkFileTree(module, new SimpleFileVisitor<Path>() {
+                            @Override
+                            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                                addRuntimeClassName(module.relativize(file).toString(), names);
+                                return FileVisitResult.CONTINUE;
+                            }
+                        });
+                }
+            } catch (IOException | RuntimeException ignored) {
+            }
+        }
+        runtimeClassNames = new ArrayList<>(names);
+        return runtimeClassNames;
+    }
+
+    private static void addRuntimeClassName(String path, Set<String> names) {
+        if (path.endsWith(".class") && !path.startsWith("META-INF/") && !path.endsWith("module-info.class") && !path.endsWith("package-info.class"))
+            names.add(path.substring(0, path.length() - ".class".length()).replace('/', '.'));
+    }
+
+    private void listDirectory(File root, File directory, String prefix) {
+        File[] children = directory.listFiles();
+        if (children == null) return;
+        for (File child : children) {
+            if (child.isDirectory()) listDirectory(root, child, prefix + child.getName() + "/");
+            else addClassName(prefix + child.getName(), root);
+        }
+    }
+
+    private void addClassName(String path, File location) {
+        if (!path.endsWith(".class") || path.startsWith("META-INF/") || path.endsWith("module-info.class") || path.endsWith("package-info.class"))
+            return;
+        classLocations.putIfAbsent(path.substring(0, path.length() - ".class".length()).replace('/', '.'), location);
+    }
+
+    /**
+     * Scans every given class that is not indexed yet, parsing each jar on its own thread when using the bytecode backend.
+     */
+    public void preload(Collection<String> classNames) {
+        if (backend != Backend.BYTECODE) return;
+        listClasses();
+        Map<File, List<String>> byLocation = new HashMap<>();
+        for (String className : classNames) {
+            File location = classLocations.get(className);
+            if (location != null && !classes.containsKey(className) && !missingClasses.contains(className))
+                byLocation.computeIfAbsent(location, key -> new ArrayList<>()).add(className);
+        }
+        if (byLocation.isEmpty()) return;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(byLocation.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<List<ClassEntry>>> futures = new ArrayList<>();
+            for (Map.Entry<File, List<String>> group : byLocation.entrySet())
+                futures.add(executor.submit(() -> readAll(group.getKey(), group.getValue())));
+            for (Future<List<ClassEntry>> future : futures)
+                for (ClassEntry entry : future.get())
+                    classes.put(entry.name, entry);
+        } catch (InterruptedException | ExecutionException exception) {
+            throw new RuntimeException("Failed to scan classes", exception);
+        } finally {
+            executor.shutdown();
+        }
+        dirty = true;
+    }
+
+    private static List<ClassEntry> readAll(File location, List<String> classNames) throws IOException {
+        List<ClassEntry> entries = new ArrayList<>();
+        if (location.isDirectory()) {
+            for (String className : classNames)
+                entries.add(ClassFileReader.read(Files.readAllBytes(new File(location, className.replace('.', '/') + ".class").toPath())));
+            return entries;
+        }
+        try (ZipFile zip = new ZipFile(location)) {
+            for (String className : classNames) {
+                ZipEntry entry = zip.getEntry(className.replace('.', '/') + ".class");
+                try (InputStream stream = zip.getInputStream(entry)) {
+                    entries.add(ClassFileReader.read(readFully(stream)));
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static byte[] readFully(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(stream.available(), 4096));
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1)
+            bytes.write(buffer, 0, read);
+        return bytes.toByteArray();
+    }
+
+    private ClassEntry scan(String className) {
+        if (TYPE_ALIASES.containsValue(className) && !className.contains("."))
+            return new ClassEntry(className, Modifier.PUBLIC | Modifier.FINAL | Modifier.ABSTRACT, null, new String[0]);
+        if (backend == Backend.BYTECODE) return scanBytecode(className);
+
+        Class<?> clazz;
+        try {
+            clazz = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return null;
+        }
+
+        Class<?> superClass = clazz.getSuperclass();
+        String[] interfaces = Arrays.stream(clazz.getInterfaces()).map(Class::getName).toArray(String[]::new);
+        ClassEntry entry = new ClassEntry(clazz.getName(), clazz.getModifiers(), superClass == null ? null : superClass.getName(), interfaces);
+        for (Field field : clazz.getDeclaredFields())
+            entry.fields.add(new MemberEntry(field.getName(), field.getModifiers(), field.getType().getName(), new String[0]));
+        for (Method method : clazz.getDeclaredMethods())
+            entry.methods.add(new MemberEntry(method.getName(), method.getModifiers(), method.getReturnType().getName(),
+                    Arrays.stream(method.getParameterTypes()).map(Class::getName).toArray(String[]::new)));
+        return entry;
+    }
+
+    private ClassEntry scanBytecode(String className) {
+        if (className.startsWith("["))
+            return new ClassEntry(className, Modifier.PUBLIC | Modifier.FINAL | Modifier.ABSTRACT, "java.lang.Object", new String[]{"java.lang.Cloneable", "java.io.Serializable"});
+        // JDK classes are not on java.class.path, the loader still finds their class files.
+        try (InputStream stream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (stream == null) return null;
+            return ClassFileReader.read(readFully(stream));
+        } catch (IOException | RuntimeException exception) {
+            return null;
+        }
+    }
+
+    private void load() {
+        if (!file.exists()) return;
+        // Marks the index as used for pruning.
+        file.setLastModified(System.currentTimeMillis());
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!(HEADER + " " + classpathHash).equals(reader.readLine())) return;
+            ClassEntry current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ");
+                switch (parts[0]) {
+                    case "C":
+                        current = new ClassEntry(parts[1], Integer.parseInt(parts[2]), parts[3].equals("-") ? null : parts[3], splitList(parts[4]));
+                        classes.put(current.name, current);
+                        break;
+                    case "F":
+                        Objects.requireNonNull(current).fields.add(new MemberEntry(parts[1], Integer.parseInt(parts[2]), parts[3], new String[0]));
+                        break;
+                    case "M":
+                        Objects.requireNonNull(current).methods.add(new MemberEntry(parts[1], Integer.parseInt(parts[2]), parts[3], splitList(parts[4])));
+                        break;
+                    case "X":
+                        // The class may have been added to the project since.
+                        if (!inClassFolder(parts[1])) missingClasses.add(parts[1]);
+                        break;
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            classes.clear();
+            missingClasses.clear();
+        }
+    }
+
+    /**
+     * Writes any newly scanned classes back to disk, does nothing if nothing changed.
+     */
+    public void save() {
+        if (!dirty) return;
+        File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) return;
+        File temp = new File(file.getPath() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER + " " + classpathHash + "\n");
+            for (ClassEntry entry : classes.values()) {
+                if (inClassFolder(entry.name)) continue;
+                writer.write("C " + entry.name + " " + entry.modifiers + " " + (entry.superName == null ? "-" : entry.superName) + " " + joinList(entry.interfaces) + "\n");
+                for (MemberEntry field : entry.fields)
+                    writer.write("F " + field.name + " " + field.modifiers + " " + field.type + "\n");
+                for (MemberEntry method : entry.methods)
+                    writer.write("M " + method.name + " " + method.modifiers + " " + method.type + " " + joinList(method.paramTypes) + "\n");
+            }
+            for (String missing : missingClasses)
+                writer.write("X " + missing + "\n");
+        } catch (IOException exception) {
+            return;
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException ignored) {
+        }
+        prune(directory);
+    }
+
+    /**
+     * Deletes all but the {@link #KEPT_INDEXES} most recently used indexes, older ones belong to libraries or JDKs that are no longer used.
+     */
+    private static void prune(File directory) {
+        File[] indexes = directory == null ? null : directory.listFiles((parent, name) -> name.endsWith(".idx"));
+        if (indexes == null || indexes.length <= KEPT_INDEXES) return;
+        Arrays.sort(indexes, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = KEPT_INDEXES; i < indexes.length; i++)
+            if (!indexes[i].delete()) indexes[i].deleteOnExit();
+    }
+
+    private static String[] splitList(String list) {
+        return list.equals("-") ? new String[0] : list.split(",");
+    }
+
+    private static String joinList(String[] list) {
+        return list.length == 0 ? "-" : String.join(",", list);
+    }
+
+    /**
+     * Hashes every classpath entry by path, size and modification time, directories are walked so recompiling changes the hash.
+     * The key is hashed after them, for anything else the result depends on.
+     */
+    private static String hashClasspath(String classpath, String key) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new RuntimeException(exception);
+        }
+        for (String path : classpath.split(File.pathSeparator)) {
+            File entry = new File(path);
+            digest.update(entry.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+            long[] stats = {entry.length(), entry.lastModified()};
+            if (entry.isDirectory()) foldDirectory(entry, stats);
+            digest.update((stats[0] + ":" + stats[1]).getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        return hex(digest.digest());
+    }
+
+    /**
+     * Only covers the classpath jars, so it stays the same when the project itself is recompiled.
+     */
+    public static String hashLibraries() {
+        return hashClasspath(libraries(), "");
+    }
+
+    private static String libraries() {
+        StringBuilder jars = new StringBuilder();
+        for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator))
+            if (new File(path).isFile()) jars.append(path).append(File.pathSeparator);
+        return jars.toString();
+    }
+
+    public static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes)
+            hex.append(String.format("%02x", b));
+        return hex.toString();
+    }
+
+    private static void foldDirectory(File directory, long[] stats) {
+        File[] children = directory.listFiles();
+        if (children == null) return;
+        for (File child : children) {
+            if (child.isDirectory()) foldDirectory(child, stats);
+            else {
+                stats[0] += child.length();
+                stats[1] = Math.max(stats[1], child.lastModified());
+            }
+        }
+    }
+}
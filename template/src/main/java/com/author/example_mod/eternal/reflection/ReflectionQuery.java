@@ -0,0 +1,256 @@
+package com.author.example_mod.eternal.reflection;
+
+import com.author.example_mod.eternal.reflection.ReflectionIndex.ClassEntry;
+import com.author.example_mod.eternal.reflection.ReflectionIndex.MemberEntry;
+
+import java.util.*;
+
+/**
+ * A parsed ReflectionHelper query, parse once and {@link #execute(ReflectionIndex)} against any number of indexes.
+ * A query is a list of words and parenthesised word groups, a bare word is a group of one.
+ * <p>
+ * FIND parents may be wildcards, "pkg.*" for a package or "pkg.**" for a package and its sub packages.
+ * Adding INHERITED to the find types also searches the superclasses and interfaces of every parent.
+ */
+public class ReflectionQuery {
+    public enum SearchType {
+        CHECK,
+        FIND
+    }
+
+    public enum FindType {
+        INSTANCE_FIELD,
+        STATIC_FIELD,
+        INSTANCE_METHOD,
+        STATIC_METHOD
+    }
+
+    public enum ElementType {
+        CLASS,
+        INSTANCE_FIELD,
+        STATIC_FIELD,
+        INSTANCE_METHOD,
+        STATIC_METHOD
+    }
+
+    public final SearchType searchType;
+    /**
+     * Only set for CHECK queries.
+     */
+    public final ElementType elementType;
+    /**
+     * Only set for FIND queries.
+     */
+    public final List<FindType> findTypes;
+    /**
+     * Only used by FIND queries.
+     */
+    public final boolean inherited;
+    /**
+     * The classes checked by CHECK CLASS or the owners searched by every other query.
+     */
+    public final List<String> parents;
+    /**
+     * The fields or methods checked by CHECK, or the target types of FIND.
+     */
+    public final List<String> elements;
+    public final List<String> params;
+
+    private ReflectionQuery(SearchType searchType, ElementType elementType, List<FindType> findTypes, boolean inherited, List<String> parents, List<String> elements, List<String> params) {
+        this.searchType = searchType;
+        this.elementType = elementType;
+        this.findTypes = findTypes;
+        this.inherited = inherited;
+        this.parents = parents;
+        this.elements = elements;
+        this.params = params;
+    }
+
+    public static ReflectionQuery parse(String input) {
+        List<List<String>> groups = tokenize(input);
+        if (groups.isEmpty()) throw new RuntimeException("Empty query");
+        SearchType searchType = SearchType.valueOf(single(groups, 0, "search type"));
+
+        if (searchType.equals(SearchType.CHECK)) {
+            ElementType elementType = ElementType.valueOf(single(groups, 1, "element type"));
+            if (elementType.equals(ElementType.CLASS))
+                return new ReflectionQuery(searchType, elementType, Collections.emptyList(), false, group(groups, 2, "classes"), Collections.emptyList(), Collections.emptyList());
+            return new ReflectionQuery(searchType, elementType, Collections.emptyList(), false,
+                    Collections.singletonList(single(groups, 2, "parent class")), group(groups, 3, "elements"), optionalGroup(groups, 4));
+        }
+
+        List<FindType> findTypes = new ArrayList<>();
+        boolean inherited = false;
+        for (String findType : group(groups, 1, "find types")) {
+            if (findType.equals("INHERITED")) inherited = true;
+            else findTypes.add(FindType.valueOf(findType));
+        }
+        return new ReflectionQuery(searchType, null, findTypes, inherited, group(groups, 2, "parent classes"), group(groups, 3, "target classes"), optionalGroup(groups, 4));
+    }
+
+    /**
+     * Splits the input into groups in a single pass, a bare word becomes a group of one.
+     */
+    private static List<List<String>> tokenize(String input) {
+        List<List<String>> groups = new ArrayList<>();
+        List<String> group = null;
+        int length = input.length();
+        int i = 0;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(') {
+                if (group != null) throw new RuntimeException("Nested parentheses at " + i + " in: " + input);
+                group = new ArrayList<>();
+                i++;
+            } else if (c == ')') {
+                if (group == null) throw new RuntimeException("Unmatched ')' at " + i + " in: " + input);
+                groups.add(group);
+                group = null;
+                i++;
+            } else {
+                int start = i;
+                while (i < length && !Character.isWhitespace(input.charAt(i)) && input.charAt(i) != '(' && input.charAt(i) != ')')
+                    i++;
+                String word = input.substring(start, i);
+                if (group != null) group.add(word);
+                else groups.add(Collections.singletonList(word));
+            }
+        }
+        if (group != null) throw new RuntimeException("Unclosed '(' in: " + input);
+        return groups;
+    }
+
+    private static List<String> group(List<List<String>> groups, int index, String name) {
+        if (groups.size() <= index) throw new RuntimeException("Missing " + name);
+        return groups.get(index);
+    }
+
+    private static List<String> optionalGroup(List<List<String>> groups, int index) {
+        return groups.size() > index ? groups.get(index) : Collections.emptyList();
+    }
+
+    private static String single(List<List<String>> groups, int index, String name) {
+        List<String> group = group(groups, index, name);
+        if (group.size() != 1) throw new RuntimeException("Expected a single " + name + " but got " + group);
+        return group.get(0);
+    }
+
+    public List<QueryResult> execute(ReflectionIndex index) {
+        List<QueryResult> results = new ArrayList<>();
+        /*
+         * CHECK CLASS [class]
+         * CHECK ElementType class [element]
+         * CHECK <ElementType extends method> class [element] (inputs: [class])
+         */
+        if (searchType.equals(SearchType.CHECK)) {
+            if (elementType.equals(ElementType.CLASS)) {
+                for (String className : parents) {
+                    boolean exists = index.getClass(className).isPresent();
+                    results.add(new QueryResult(QueryResult.Kind.CLASS, null, className, QueryResult.typeDescriptor(ReflectionIndex.canonicalName(className)), false, exists,
+                            " * Class " + className + (exists ? " exists." : " does not exist.")));
+                }
+                return results;
+            }
+
+            ClassEntry parentClass = index.getClass(parents.get(0)).orElseThrow(() -> new RuntimeException("Invalid parent class: " + parents.get(0)));
+            List<String> paramTypes = resolveAll(index, params, "Invalid param class: ");
+            for (String element : elements) {
+                if (elementType.equals(ElementType.INSTANCE_FIELD) || elementType.equals(ElementType.STATIC_FIELD))
+                    results.add(checkField(parentClass, element, elementType.equals(ElementType.STATIC_FIELD)));
+                else
+                    results.add(checkMethod(parentClass, element, elementType.equals(ElementType.STATIC_METHOD), paramTypes.toArray(new String[0])));
+            }
+            return results;
+        }
+
+        /*
+         * FIND [FindType] parent: [class] target: [class] (inputs: [class])
+         */
+        List<ClassEntry> parentClasses = new ArrayList<>();
+        for (String pattern : parents) {
+            if (pattern.endsWith("*")) {
+                List<String> classNames = index.matchClasses(pattern);
+                index.preload(classNames);
+                for (String className : classNames)
+                    index.getClass(className).ifPresent(parentClasses::add);
+            } else
+                parentClasses.add(index.getClass(pattern).orElseThrow(() -> new RuntimeException("Invalid parent class: " + pattern)));
+        }
+        List<String> targetTypes = resolveAll(index, elements, "Invalid target class: ");
+        Set<String> validParamTypes = new LinkedHashSet<>(resolveAll(index, params, "Invalid param class: "));
+
+        MemberTypeIndex typeIndex = new MemberTypeIndex(index, parentClasses, inherited);
+        for (FindType findType : findTypes)
+            for (String targetType : targetTypes)
+                switch (findType) {
+                    case INSTANCE_FIELD:
+                    case STATIC_FIELD:
+                        boolean staticField = findType.equals(FindType.STATIC_FIELD);
+                        for (MemberTypeIndex.Hit hit : typeIndex.findFields(index, targetType, staticField))
+                            results.add(new QueryResult(QueryResult.Kind.FIELD, hit.owner.name, hit.member.name, QueryResult.typeDescriptor(hit.member.type), staticField, true,
+                                    " * Found " + (staticField ? "static" : "instance") + " field: " + hit.owner.name + "#" + hit.member.name + " (Type: " + hit.member.type + ")"));
+                        break;
+                    case INSTANCE_METHOD:
+                    case STATIC_METHOD:
+                        boolean staticMethod = findType.equals(FindType.STATIC_METHOD);
+                        for (MemberTypeIndex.Hit hit : typeIndex.findMethods(index, targetType, staticMethod, validParamTypes))
+                            results.add(new QueryResult(QueryResult.Kind.METHOD, hit.owner.name, hit.member.name, QueryResult.methodDescriptor(hit.member.paramTypes, hit.member.type), staticMethod, true,
+                                    " * Found " + (staticMethod ? "static" : "instance") + " method: " + hit.owner.name + "#" + hit.member.name + formatParamTypes(hit.member.paramTypes) + " -> " + hit.member.type));
+                        break;
+                }
+        return results;
+    }
+
+    private static List<String> resolveAll(ReflectionIndex index, List<String> classNames, String error) {
+        List<String> resolved = new ArrayList<>();
+        for (String className : classNames)
+            resolved.add(index.getClass(className).orElseThrow(() -> new RuntimeException(error + className)).name);
+        return resolved;
+    }
+
+    private static QueryResult checkField(ClassEntry targetClass, String fieldName, boolean isStatic) {
+        Optional<MemberEntry> field = targetClass.getField(fieldName);
+        String prefix = " * " + (isStatic ? "Static" : "Instance") + " field '" + fieldName + "' ";
+        if (!field.isPresent())
+            return new QueryResult(QueryResult.Kind.FIELD, targetClass.name, fieldName, null, isStatic, false, prefix + "does not exist.");
+        boolean realIsStatic = field.get().isStatic();
+        String descriptor = QueryResult.typeDescriptor(field.get().type);
+        if (realIsStatic == isStatic)
+            return new QueryResult(QueryResult.Kind.FIELD, targetClass.name, fieldName, descriptor, isStatic, true, prefix + "exists.");
+        return new QueryResult(QueryResult.Kind.FIELD, targetClass.name, fieldName, descriptor, isStatic, false,
+                prefix + "does not exist (found " + (realIsStatic ? "static" : "instance") + " field with same name).");
+    }
+
+    private static QueryResult checkMethod(ClassEntry targetClass, String methodName, boolean requireStatic, String[] paramTypes) {
+        MemberEntry foundMethod = null;
+
+        if (paramTypes.length > 0) {
+            for (MemberEntry method : targetClass.methods)
+                if (method.name.equals(methodName) && Arrays.equals(method.paramTypes, paramTypes)) {
+                    if (method.isStatic() == requireStatic)
+                        foundMethod = method;
+                    break;
+                }
+        } else
+            for (MemberEntry method : targetClass.methods) {
+                if (method.name.equals(methodName) && (method.isStatic() == requireStatic)) {
+                    foundMethod = method;
+                    break;
+                }
+            }
+
+        String prefix = " * " + (requireStatic ? "Static" : "Instance") + " method '" + targetClass + "#" + methodName + "(";
+        if (foundMethod != null)
+            return new QueryResult(QueryResult.Kind.METHOD, targetClass.name, methodName, QueryResult.methodDescriptor(foundMethod.paramTypes, foundMethod.type), requireStatic, true,
+                    prefix + formatParamTypes(foundMethod.paramTypes) + ")' exists.");
+        return new QueryResult(QueryResult.Kind.METHOD, targetClass.name, methodName, null, requireStatic, false,
+                prefix + formatParamTypes(paramTypes) + ")' does not exist.");
+    }
+
+    private static String formatParamTypes(String[] paramTypes) {
+        if (paramTypes.length == 0) return "()";
+        return "(" + String.join(", ", paramTypes) + ")";
+    }
+}
@@ -0,0 +1,105 @@
+package com.author.example_mod.eternal.reflection;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps a warm JVM around for one version and answers queries over a local socket.
+ * The port file holds the port on its first line and a random token on its second, it is only readable by its owner where the file system allows.
+ * A connection first sends the token, anything else closes it, so other users of the machine cannot run queries such as @[file].
+ * Each following line is a query, its answer is streamed back followed by an empty line.
+ * Sending SHUTDOWN stops the server.
+ */
+public class ReflectionServer {
+    private final int port;
+    private final File portFile;
+    private final BiConsumer<String, PrintStream> handler;
+    private final String token;
+    private volatile boolean running = true;
+
+    /**
+     * @param port     the port to listen on, 0 picks a free one.
+     * @param portFile where the chosen port and the token are written so scripts and Gradle can find the server.
+     * @param handler  answers a single query line, queries are never run concurrently.
+     */
+    public ReflectionServer(int port, File portFile, BiConsumer<String, PrintStream> handler) {
+        this.port = port;
+        this.portFile = portFile;
+        this.handler = handler;
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        this.token = ReflectionIndex.hex(bytes);
+    }
+
+    public void run() throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            File directory = portFile.getParentFile();
+            if (directory != null && !directory.exists() && !directory.mkdirs())
+                throw new IOException("Could not create " + directory);
+            writePrivate(portFile.toPath(), server.getLocalPort() + "\n" + token + "\n");
+            System.out.println("Reflection server listening on port " + server.getLocalPort());
+
+            while (running) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketException exception) {
+                    break;
+                }
+                Thread thread = new Thread(() -> serve(socket, server), "reflection-client-" + socket.getPort());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            portFile.delete();
+        }
+    }
+
+    private static void writePrivate(Path path, String content) throws IOException {
+        Files.deleteIfExists(path);
+        if (path.getFileSystem().supportedFileAttributeViews().contains("posix"))
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void serve(Socket socket, ServerSocket server) {
+        try (Socket client = socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            PrintStream out = new PrintStream(new BufferedOutputStream(client.getOutputStream()), false, "UTF-8");
+            String sentToken = reader.readLine();
+            if (sentToken == null || !MessageDigest.isEqual(sentToken.trim().getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8)))
+                return;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                if (line.equals("SHUTDOWN")) {
+                    running = false;
+                    server.close();
+                    return;
+                }
+                synchronized (this) {
+                    try {
+                        handler.accept(line, out);
+                    } catch (RuntimeException exception) {
+                        out.println(" ! " + exception.getMessage());
+                    }
+                }
+                out.println();
+                out.flush();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.author.example_mod.eternal.reflection;
+
+import com.author.example_mod.eternal.Utils;
+import com.author.example_mod.eternal.reflection.ReflectionIndex.ClassEntry;
+import com.author.example_mod.eternal.reflection.ReflectionIndex.MemberEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Checks the classes, fields and methods compiled code references against a {@link ReflectionIndex}.
+ * Symbols are lines in one of these forms, owners use {@link Class#getName()} form and descriptors are JVM descriptors:
+ * class [owner]
+ * field [owner] [name] [descriptor]
+ * method [owner] [name] [descriptor]
+ * Constructors are not indexed, so they are only covered by the class symbol of their owner.
+ */
+public class SymbolReport {
+    public static final List<String> DEFAULT_PREFIXES = Arrays.asList("net.minecraft.", "com.mojang.");
+
+    public enum Status {
+        PRESENT,
+        MISSING,
+        /**
+         * A field or method with the same name exists but with a different descriptor.
+         */
+        CHANGED
+    }
+
+    /**
+     * Collects the symbols referenced by every class file in a folder or jar.
+     */
+    public static SortedSet<String> extract(File classes, List<String> prefixes) throws IOException {
+        SortedSet<String> symbols = new TreeSet<>();
+        if (classes.isDirectory()) extractDirectory(classes, prefixes, symbols);
+        else try (ZipFile zip = new ZipFile(classes)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.getName().endsWith(".class")) continue;
+                try (InputStream stream = zip.getInputStream(entry)) {
+                    symbols.addAll(ClassFileReader.readReferences(readFully(stream), prefixes));
+                }
+            }
+        }
+        return symbols;
+    }
+
+    private static void extractDirectory(File directory, List<String> prefixes, Set<String> symbols) throws IOException {
+        File[] children = directory.listFiles();
+        if (children == null) return;
+        for (File child : children) {
+            if (child.isDirectory()) extractDirectory(child, prefixes, symbols);
+            else if (child.getName().endsWith(".class"))
+                symbols.addAll(ClassFileReader.readReferences(Files.readAllBytes(child.toPath()), prefixes));
+        }
+    }
+
+    private static byte[] readFully(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1)
+            bytes.write(buffer, 0, read);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns one line per symbol, plus a summary line when not using JSON.
+     */
+    public static List<String> check(ReflectionIndex index, Collection<String> symbols, boolean json) {
+        List<String> lines = new ArrayList<>();
+        int[] counts = new int[Status.values().length];
+        for (String symbol : symbols) {
+            String[] parts = symbol.split(" ");
+            String kind = parts[0];
+            String owner = parts[1];
+            Status status;
+            Set<String> found = new TreeSet<>();
+            if (kind.equals("class"))
+                status = index.getClass(owner).isPresent() ? Status.PRESENT : Status.MISSING;
+            else
+                status = checkMember(index, owner, parts[2], parts[3], kind.equals("field"), found);
+            counts[status.ordinal()]++;
+
+            if (json)
+                lines.add("{\"status\":\"" + status.name().toLowerCase() + "\"" +
+                        ",\"kind\":" + Utils.jsonString(kind) +
+                        ",\"owner\":" + Utils.jsonString(owner) +
+                        ",\"name\":" + Utils.jsonString(parts.length > 2 ? parts[2] : null) +
+                        ",\"descriptor\":" + Utils.jsonString(parts.length > 3 ? parts[3] : null) +
+                        ",\"found\":[" + (status == Status.CHANGED ? joinJson(found) : "") + "]}");
+            else
+                lines.add(" * " + status.name().toLowerCase() + " " + kind + " " + owner + (parts.length > 2 ? "#" + parts[2] + " " + parts[3] : "") +
+                        (status == Status.CHANGED ? " (found: " + String.join(", ", found) + ")" : ""));
+        }
+        if (!json)
+            lines.add(" * " + counts[Status.PRESENT.ordinal()] + " present, " + counts[Status.MISSING.ordinal()] + " missing, " + counts[Status.CHANGED.ordinal()] + " changed.");
+        return lines;
+    }
+
+    /**
+     * Looks the member up on the owner and all of its supertypes, since references name the type they were accessed through.
+     */
+    private static Status checkMember(ReflectionIndex index, String owner, String name, String descriptor, boolean field, Set<String> found) {
+        Optional<ClassEntry> ownerClass = index.getClass(owner);
+        if (!ownerClass.isPresent()) return Status.MISSING;
+
+        Set<String> seen = new HashSet<>();
+        Deque<ClassEntry> queue = new ArrayDeque<>();
+        queue.add(ownerClass.get());
+        while (!queue.isEmpty()) {
+            ClassEntry current = queue.poll();
+            if (!seen.add(current.name)) continue;
+            for (MemberEntry member : field ? current.fields : current.methods) {
+                if (!member.name.equals(name)) continue;
+                String memberDescriptor = field ? QueryResult.typeDescriptor(member.type) : QueryResult.methodDescriptor(member.paramTypes, member.type);
+                if (memberDescriptor.equals(descriptor)) return Status.PRESENT;
+                found.add(memberDescriptor);
+            }
+            // Interfaces have no superclass in the class file but still inherit the methods of Object.
+            String superName = current.superName != null ? current.superName : current.name.equals("java.lang.Object") ? null : "java.lang.Object";
+            if (superName != null) index.getClass(superName).ifPresent(queue::add);
+            for (String interfaceName : current.interfaces)
+                index.getClass(interfaceName).ifPresent(queue::add);
+        }
+        return found.isEmpty() ? Status.MISSING : Status.CHANGED;
+    }
+
+    private static String joinJson(Collection<String> strings) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (String string : strings)
+            joiner.add(Utils.jsonString(string));
+        return joiner.toString();
+    }
+}
@@ -3,11 +3,14 @@ package com.author.example_mod.fabric;
 
 import net.fabricmc.api.ClientModInitializer;
 import com.author.example_mod.client.ExampleModClient;
+import com.author.example_mod.eternal.StartupTimings;
 
 public class ExampleModFabricClient implements ClientModInitializer {
     @Override
     public void onInitializeClient() {
+        StartupTimings.begin(StartupTimings.Phase.CLIENT_SETUP);
         ExampleModClient.init();
+        StartupTimings.end(StartupTimings.Phase.CLIENT_SETUP);
     }
 }
 //?}
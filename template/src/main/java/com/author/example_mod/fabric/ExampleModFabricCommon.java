@@ -3,11 +3,14 @@ package com.author.example_mod.fabric;
 
 import net.fabricmc.api.ModInitializer;
 import com.author.example_mod.common.ExampleModCommon;
+import com.author.example_mod.eternal.StartupTimings;
 
 public class ExampleModFabricCommon implements ModInitializer {
     @Override
     public void onInitialize() {
+        StartupTimings.begin(StartupTimings.Phase.COMMON_SETUP);
         ExampleModCommon.init();
+        StartupTimings.end(StartupTimings.Phase.COMMON_SETUP);
     }
 }
 //?}
\ No newline at end of file
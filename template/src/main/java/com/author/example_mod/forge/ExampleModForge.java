@@ -5,6 +5,7 @@ import com.author.example_mod.client.ExampleModClient;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fml.common.Mod;
 import com.author.example_mod.common.ExampleModCommon;
+import com.author.example_mod.eternal.StartupTimings;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
@@ -12,11 +13,21 @@ import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 @Mod(/^$ mod_id_string {^/"example_mod"/^$}^/)
 public class ExampleModForge {
     public ExampleModForge() {
+        StartupTimings.begin(StartupTimings.Phase.CONSTRUCTOR);
         FMLJavaModLoadingContext context = FMLJavaModLoadingContext.get();
         IEventBus eventBus = context.getModEventBus();
 
-        eventBus.addListener((final FMLClientSetupEvent event) -> ExampleModClient.init(event, eventBus, context));
-        eventBus.addListener((final FMLCommonSetupEvent event) -> ExampleModCommon.init(event, eventBus, context));
+        eventBus.addListener((final FMLClientSetupEvent event) -> {
+            StartupTimings.begin(StartupTimings.Phase.CLIENT_SETUP);
+            ExampleModClient.init(event, eventBus, context);
+            StartupTimings.end(StartupTimings.Phase.CLIENT_SETUP);
+        });
+        eventBus.addListener((final FMLCommonSetupEvent event) -> {
+            StartupTimings.begin(StartupTimings.Phase.COMMON_SETUP);
+            ExampleModCommon.init(event, eventBus, context);
+            StartupTimings.end(StartupTimings.Phase.COMMON_SETUP);
+        });
+        StartupTimings.end(StartupTimings.Phase.CONSTRUCTOR);
     }
 }
 *///?}
@@ -1,6 +1,8 @@
 package com.author.example_mod.mixins;
 
-import com.author.example_mod.eternal.Utils;
+import com.author.example_mod.eternal.Log;
+import com.author.example_mod.eternal.SelfTest;
+import com.author.example_mod.eternal.StartupTimings;
 import net.minecraft.client.gui.screen.TitleScreen;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -11,22 +13,24 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public class TitleScreenMixin {
     @Inject(method = "init", at = @At("HEAD"))
     public void initMixinExample(CallbackInfo ci) {
-        String baseString = "Hello from %LOADER% on Minecraft %VERSION%";
-
+        StartupTimings.begin(StartupTimings.Phase.TITLE_SCREEN);
         /// https://stonecutter.kikugie.dev/stonecutter/guide/comments
         String loader =  /*$ loader_string {*/"fabric"/*$}*/;
         String version = /*$ minecraft_version_string {*/"1.21.8"/*$}*/;
 
-        baseString = baseString.replace("%LOADER%",loader);
-        baseString = baseString.replace("%VERSION%",version);
-
-        Utils.LOGGER.info(baseString);
+        Log.info("Hello from {} on Minecraft {}", loader, version);
 
         TitleScreen titleScreen = (TitleScreen) (Object) this;
+        SelfTest.reach(SelfTest.Stage.TITLE_SCREEN, titleScreen);
 
         if (titleScreen.client != null) {
-            Utils.LOGGER.info("Manually exiting");
+            Log.info("Manually exiting");
             titleScreen.client.scheduleStop();
         }
     }
+
+    @Inject(method = "init", at = @At("RETURN"))
+    public void endInitTiming(CallbackInfo ci) {
+        StartupTimings.end(StartupTimings.Phase.TITLE_SCREEN);
+    }
 }
\ No newline at end of file
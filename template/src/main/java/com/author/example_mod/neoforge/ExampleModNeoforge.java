@@ -6,14 +6,25 @@ import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.common.Mod;
 import com.author.example_mod.common.ExampleModCommon;
+import com.author.example_mod.eternal.StartupTimings;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 
 @Mod(/^$ mod_id_string {^/"example_mod"/^$}^/)
 public class ExampleModNeoforge {
     public ExampleModNeoforge(IEventBus eventBus, ModContainer modContainer) {
-        eventBus.addListener((final FMLClientSetupEvent event) -> ExampleModClient.init(event, eventBus, modContainer));
-        eventBus.addListener((final FMLCommonSetupEvent event) -> ExampleModCommon.init(event, eventBus, modContainer));
+        StartupTimings.begin(StartupTimings.Phase.CONSTRUCTOR);
+        eventBus.addListener((final FMLClientSetupEvent event) -> {
+            StartupTimings.begin(StartupTimings.Phase.CLIENT_SETUP);
+            ExampleModClient.init(event, eventBus, modContainer);
+            StartupTimings.end(StartupTimings.Phase.CLIENT_SETUP);
+        });
+        eventBus.addListener((final FMLCommonSetupEvent event) -> {
+            StartupTimings.begin(StartupTimings.Phase.COMMON_SETUP);
+            ExampleModCommon.init(event, eventBus, modContainer);
+            StartupTimings.end(StartupTimings.Phase.COMMON_SETUP);
+        });
+        StartupTimings.end(StartupTimings.Phase.CONSTRUCTOR);
     }
 }
 *///?}
\ No newline at end of file
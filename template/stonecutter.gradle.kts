@@ -2,7 +2,6 @@ import org.gradle.api.DefaultTask
 import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.TaskAction
 import org.gradle.process.ExecOperations
-import java.io.ByteArrayOutputStream
 import java.io.File
 import java.text.SimpleDateFormat
 import java.util.Date
@@ -20,6 +19,14 @@ plugins {
 // $start stonecutter-active
 // $end stonecutter-active
 
+// Every version reads .env on its own, so where it came from is only reported here, once per build.
+val envFile = layout.projectDirectory.file(".env")
+if (providers.fileContents(envFile).asText.isPresent) {
+    logger.lifecycle("Loading .env file from: ${envFile.asFile.absolutePath}")
+} else {
+    logger.lifecycle(".env file not found at: ${envFile.asFile.absolutePath}. Defaulting to production mode.")
+}
+
 abstract class RunClientForVersionTask
     @Inject
     constructor(
@@ -81,45 +88,38 @@ abstract class RunClientForVersionTask
             val currentLogFileName = "latest_runClient_${version}_$timestamp.log"
             val actualSharedLogFile = File(sharedLogDir, currentLogFileName)
 
+            // Written by eternal's SelfTest during the run, a stale one would hide a client that never got that far.
+            File(sharedLogDir, "selfTest/$version.json").delete()
+            File(sharedLogDir, "timings/$version-client.json").delete()
+
             project.logger.lifecycle("--- Starting client task: $taskPath ---")
             project.logger.lifecycle("--- Logging output to: ${actualSharedLogFile.absolutePath} ---")
 
-            val outputStream = ByteArrayOutputStream()
-            val errorStream = ByteArrayOutputStream()
-
-            try {
-                execOperations
-                    .exec {
-                        workingDir = project.rootDir
-                        commandLine(
-                            "${project.gradle.gradleHomeDir}/bin/gradle",
-                            taskPath,
-                            "--console=plain",
-                            "--info",
-                            "--stacktrace",
-                        )
-                        standardOutput = outputStream
-                        errorOutput = errorStream
-                        isIgnoreExitValue = true
-                    }.assertNormalExitValue()
-
-                actualSharedLogFile.writeBytes(outputStream.toByteArray())
-                if (errorStream.size() > 0) {
-                    actualSharedLogFile.appendBytes("\n--- ERROR OUTPUT ---\n".toByteArray())
-                    actualSharedLogFile.appendBytes(errorStream.toByteArray())
-                }
+            // Both streams go straight to disk as they are written, so a crashed or killed client still leaves its full log.
+            actualSharedLogFile.outputStream().buffered().use { logStream ->
+                try {
+                    execOperations
+                        .exec {
+                            workingDir = project.rootDir
+                            commandLine(
+                                "${project.gradle.gradleHomeDir}/bin/gradle",
+                                taskPath,
+                                "--console=plain",
+                                "--info",
+                                "--stacktrace",
+                            )
+                            standardOutput = logStream
+                            errorOutput = logStream
+                            isIgnoreExitValue = true
+                        }.assertNormalExitValue()
 
-                project.logger.lifecycle("--- Finished client task: $taskPath successfully ---")
-            } catch (e: Exception) {
-                actualSharedLogFile.writeBytes(outputStream.toByteArray())
-                if (errorStream.size() > 0) {
-                    actualSharedLogFile.appendBytes("\n--- ERROR OUTPUT ---\n".toByteArray())
-                    actualSharedLogFile.appendBytes(errorStream.toByteArray())
+                    project.logger.lifecycle("--- Finished client task: $taskPath successfully ---")
+                } catch (e: Exception) {
+                    project.logger.error("Client '$taskPath' failed or exited with an error: ${e.message}")
                 }
-                project.logger.error("Client '$taskPath' failed or exited with an error: ${e.message}")
             }
 
-            File(subLogDir, currentLogFileName).writeBytes(actualSharedLogFile.readBytes())
+            actualSharedLogFile.copyTo(File(subLogDir, currentLogFileName), overwrite = true)
         }
     }
 
@@ -156,6 +156,147 @@ if (lastRunTaskName != null) {
 }
 
 val sortedStonecutterVersions = stonecutter.versions.map { version -> version.project }.sorted()
+
+/**
+ * Strips the "latest_" prefix from the logs of the previous run.
+ */
+fun rotateLatestLogs(directory: File) {
+    for (file in directory.listFiles() ?: emptyArray()) {
+        if (file.name.startsWith("latest_")) file.renameTo(File(directory, file.name.substring(7)))
+    }
+}
+
+class ClientRunResult(
+    val version: String,
+    val status: String,
+    val exitCode: Int?,
+    val millis: Long,
+    val logFile: File,
+    val selfTest: Any?,
+    val timings: Any?,
+)
+
+tasks.register("runAllClientsParallel") {
+    group = "eternal"
+    description = "Runs all Minecraft clients for all Stonecutter versions concurrently, each in its own run directory."
+
+    val workers = providers.gradleProperty("clients.workers").map { it.toInt() }.getOrElse(2)
+    val timeoutMinutes = providers.gradleProperty("clients.timeout").map { it.toLong() }.getOrElse(15L)
+    // Wraps every client in xvfb-run so the matrix can run on machines without a display.
+    val headless = providers.gradleProperty("clients.headless").map { it.toBoolean() }.getOrElse(false)
+    val sharedLogDir = layout.buildDirectory.dir("logs").get().asFile
+    val runsDir = layout.buildDirectory.dir("clientRuns").get().asFile
+    val gradleExecutable = "${gradle.gradleHomeDir}/bin/gradle"
+    val workingDir = rootDir
+
+    doLast {
+        sharedLogDir.mkdirs()
+        rotateLatestLogs(sharedLogDir)
+        val timestamp = SimpleDateFormat("yyyy.MM.dd_HH.mm.ss").format(Date())
+
+        val executor = java.util.concurrent.Executors.newFixedThreadPool(workers)
+        val completion = java.util.concurrent.ExecutorCompletionService<ClientRunResult>(executor)
+        for (version in sortedStonecutterVersions) {
+            completion.submit {
+                val logFile = File(sharedLogDir, "latest_runClient_${version}_$timestamp.log")
+                val selfTestReport = File(sharedLogDir, "selfTest/$version.json")
+                selfTestReport.delete()
+                val timingsReport = File(sharedLogDir, "timings/$version-client.json")
+                timingsReport.delete()
+                val runDir = File(runsDir, version)
+                runDir.mkdirs()
+                val command = arrayListOf<String>()
+                if (headless) command.addAll(listOf("xvfb-run", "--auto-servernum"))
+                // Without a daemon the client JVM is a descendant of this process, so a timeout can kill all of it.
+                command.addAll(
+                    listOf(gradleExecutable, ":$version:runClient", "--no-daemon", "--console=plain", "--info", "--stacktrace", "-Peternal.runDir=${runDir.absolutePath}"),
+                )
+
+                val start = System.currentTimeMillis()
+                val process =
+                    ProcessBuilder(command)
+                        .directory(workingDir)
+                        .redirectErrorStream(true)
+                        .redirectOutput(logFile)
+                        .start()
+                val status =
+                    if (process.waitFor(timeoutMinutes, java.util.concurrent.TimeUnit.MINUTES)) {
+                        if (process.exitValue() == 0) "passed" else "failed"
+                    } else {
+                        process.descendants().forEach { it.destroyForcibly() }
+                        process.destroyForcibly().waitFor()
+                        logFile.appendText("\n--- Killed after $timeoutMinutes minutes ---\n")
+                        "timeout"
+                    }
+
+                val subLogDir = File(workingDir, "versions/$version/build/logs")
+                subLogDir.mkdirs()
+                rotateLatestLogs(subLogDir)
+                logFile.copyTo(File(subLogDir, logFile.name), overwrite = true)
+                ClientRunResult(
+                    version,
+                    status,
+                    if (status == "timeout") null else process.exitValue(),
+                    System.currentTimeMillis() - start,
+                    logFile,
+                    if (selfTestReport.exists()) groovy.json.JsonSlurper().parse(selfTestReport) else null,
+                    if (timingsReport.exists()) groovy.json.JsonSlurper().parse(timingsReport) else null,
+                )
+            }
+        }
+
+        val results = arrayListOf<ClientRunResult>()
+        try {
+            for (i in sortedStonecutterVersions.indices) {
+                val result = completion.take().get()
+                results.add(result)
+                println("[${i + 1}/${sortedStonecutterVersions.size}] ${result.version}: ${result.status} in ${result.millis / 1000}s, log: ${result.logFile.absolutePath}")
+            }
+        } finally {
+            executor.shutdownNow()
+        }
+
+        val summary =
+            results.sortedBy { it.version }.associate { result ->
+                result.version to
+                    mapOf(
+                        "status" to result.status,
+                        "exitCode" to result.exitCode,
+                        "millis" to result.millis,
+                        "log" to result.logFile.absolutePath,
+                        "selfTest" to result.selfTest,
+                        "timings" to result.timings,
+                    )
+            }
+
+        // Startup phases per version, compared against the previous matrix run so regressions stand out.
+        val summaryFile = File(sharedLogDir, "clients.json")
+        @Suppress("UNCHECKED_CAST")
+        val previous = if (summaryFile.exists()) groovy.json.JsonSlurper().parse(summaryFile) as Map<String, Map<String, Any?>> else emptyMap()
+        println("Startup timings (ms, change since the last run):")
+        for (result in results.sortedBy { it.version }) {
+            @Suppress("UNCHECKED_CAST")
+            val phases = (result.timings as Map<String, Any?>?)?.get("phases") as Map<String, Map<String, Any?>>? ?: continue
+            @Suppress("UNCHECKED_CAST")
+            val previousPhases = (previous[result.version]?.get("timings") as Map<String, Any?>?)?.get("phases") as Map<String, Map<String, Any?>>?
+            val columns =
+                phases.map { (phase, timing) ->
+                    val millis = (timing["millis"] as Number).toDouble()
+                    val before = (previousPhases?.get(phase)?.get("millis") as Number?)?.toDouble()
+                    val allocated = (timing["allocatedBytes"] as Number).toLong()
+                    "$phase ${"%.1f".format(millis)}" +
+                        (if (before != null) " (${"%+.1f".format(millis - before)})" else "") +
+                        (if (allocated >= 0) " ${allocated / 1024} KiB" else "")
+                }
+            println(" * ${result.version}: ${columns.joinToString(", ")}")
+        }
+
+        summaryFile.writeText(groovy.json.JsonOutput.prettyPrint(groovy.json.JsonOutput.toJson(summary)))
+        val failed = results.filter { it.status != "passed" }
+        if (failed.isNotEmpty()) println("Failed clients: ${failed.sortedBy { it.version }.joinToString(", ") { "${it.version} (${it.status})" }}")
+    }
+}
+
 val checkReflectionGetInputsTask = tasks.register("checkReflection-getInputs") {
     group = "eternal-impl"
     val subTasks = sortedStonecutterVersions.map { version -> tasks.getByPath(":${version}:checkReflection $version") }
@@ -191,4 +332,369 @@ tasks.register("checkReflection") {
         for (entry in uniqueResults)
             println(entry.value.joinToString(", ") + ":\n" + entry.key)
     }
-}
\ No newline at end of file
+}
+
+// Each server keeps one JVM per version warm, queries are sent as lines to the port in versions/<version>/build/reflection-index/server.port
+// after the token on the second line of that file.
+tasks.register("startReflectionServers") {
+    group = "eternal"
+    description = "Starts a background reflection server for every version."
+    dependsOn(sortedStonecutterVersions.map { version -> ":$version:startReflectionServer $version" })
+}
+
+tasks.register("stopReflectionServers") {
+    group = "eternal"
+    description = "Stops all running reflection servers."
+    dependsOn(sortedStonecutterVersions.map { version -> ":$version:stopReflectionServer $version" })
+}
+/**
+ * Orders Minecraft versions numerically, so 1.9 comes before 1.16.
+ */
+fun compareMcVersions(
+    left: String,
+    right: String,
+): Int {
+    val leftParts = left.split(".").map { part -> part.toIntOrNull() ?: 0 }
+    val rightParts = right.split(".").map { part -> part.toIntOrNull() ?: 0 }
+    for (i in 0 until maxOf(leftParts.size, rightParts.size)) {
+        val compared = leftParts.getOrElse(i) { 0 }.compareTo(rightParts.getOrElse(i) { 0 })
+        if (compared != 0) return compared
+    }
+    return 0
+}
+
+class ReflectionResult(
+    val version: String,
+    val output: String,
+    val millis: Long,
+)
+
+/**
+ * What a reflection query needs from one version, resolved while configuring so running the query does not reach into the version's project.
+ */
+class ReflectionTarget(
+    val version: String,
+    val portFile: File,
+    val java: Provider<String>,
+    val systemProperties: Map<String, Any?>,
+    val classpath: FileCollection,
+    val mainClass: Provider<String>,
+) {
+    /**
+     * The JVM command without the query, call it on the task's own thread since Gradle cannot resolve files from worker threads.
+     */
+    fun command(): List<String> {
+        val command = arrayListOf(java.get())
+        systemProperties.forEach { (key, value) -> command.add("-D$key=$value") }
+        command.addAll(listOf("-cp", classpath.asPath, mainClass.get()))
+        return command
+    }
+}
+
+/**
+ * Only call this while configuring a task, once the version's checkReflection task is registered.
+ */
+fun reflectionTarget(version: String): ReflectionTarget {
+    val exec = project(":$version").tasks.named("checkReflection $version", JavaExec::class).get()
+    return ReflectionTarget(
+        version,
+        project(":$version").layout.buildDirectory.file("reflection-index/server.port").get().asFile,
+        exec.javaLauncher.map { launcher -> launcher.executablePath.asFile.absolutePath },
+        exec.systemProperties.toMap(),
+        exec.classpath,
+        exec.mainClass,
+    )
+}
+
+/**
+ * Answers the query through the version's reflection server if one is running, otherwise runs the target's command as a one-off JVM,
+ * configured exactly like the version's checkReflection task.
+ */
+fun runReflectionQuery(
+    target: ReflectionTarget,
+    command: List<String>,
+    query: String,
+): String {
+    val version = target.version
+    // The first line is the port, the second the token the server expects before any query.
+    val server = if (target.portFile.exists()) target.portFile.readLines().map { it.trim() } else emptyList()
+    val port = server.getOrNull(0)?.toIntOrNull()
+    val token = server.getOrNull(1)
+    if (port != null && token != null) {
+        try {
+            java.net.Socket(java.net.InetAddress.getLoopbackAddress(), port).use { socket ->
+                socket.getOutputStream().write("$token\n$query\n".toByteArray())
+                socket.getOutputStream().flush()
+                val reader = socket.getInputStream().bufferedReader()
+                val output = StringBuilder()
+                while (true) {
+                    val line = reader.readLine()
+                    if (line == null || line.isEmpty()) break
+                    output.append(line).append("\n")
+                }
+                return output.toString()
+            }
+        } catch (e: java.io.IOException) {
+            logger.info("Reflection server for $version is not reachable, falling back to a new JVM.")
+        }
+    }
+
+    val process = ProcessBuilder(command + query).redirectErrorStream(true).start()
+    val output = process.inputStream.bufferedReader().readText()
+    process.waitFor()
+    return output
+}
+
+tasks.register("checkReflectionParallel") {
+    group = "eternal"
+    description = "Checks for existence of classes, fields, and methods in all versions concurrently, grouping identical results into version ranges."
+    dependsOn(sortedStonecutterVersions.map { version -> ":$version:classes" })
+
+    val workers =
+        providers.gradleProperty("reflection.workers").map { it.toInt() }
+            .getOrElse(maxOf(1, Runtime.getRuntime().availableProcessors() / 2))
+    val presetQuery = providers.gradleProperty("reflection.query")
+    val reportFile = layout.buildDirectory.file("reflection/report.json")
+    val targets = sortedStonecutterVersions.map { version -> reflectionTarget(version) }
+
+    doLast {
+        val query =
+            presetQuery.orNull ?: run {
+                println("Please enter the reflection input (e.g., 'FIND STATIC_METHOD net.minecraft.text.Text net.minecraft.text.Text String'):")
+                System.`in`.bufferedReader().readLine().trim()
+            }
+
+        val executor = java.util.concurrent.Executors.newFixedThreadPool(workers)
+        val completion = java.util.concurrent.ExecutorCompletionService<ReflectionResult>(executor)
+        for (target in targets) {
+            val command = target.command()
+            completion.submit {
+                val start = System.currentTimeMillis()
+                val output = runReflectionQuery(target, command, query)
+                ReflectionResult(target.version, output, System.currentTimeMillis() - start)
+            }
+        }
+
+        val results = HashMap<String, ReflectionResult>()
+        try {
+            for (i in sortedStonecutterVersions.indices) {
+                val result = completion.take().get()
+                results[result.version] = result
+                println("[${i + 1}/${sortedStonecutterVersions.size}] ${result.version} (${result.millis} ms):\n${result.output}")
+            }
+        } finally {
+            executor.shutdownNow()
+        }
+
+        // Contiguous runs of versions per loader that gave the same answer.
+        val ranges = arrayListOf<Map<String, Any>>()
+        val byLoader = stonecutter.versions.groupBy { version -> version.project.substringAfterLast("-") }
+        for ((loader, versions) in byLoader.toSortedMap()) {
+            val ordered = versions.sortedWith { left, right -> compareMcVersions(left.version, right.version) }
+            var current = arrayListOf<String>()
+            var currentOutput: String? = null
+            fun flush() {
+                if (current.isEmpty()) return
+                ranges.add(
+                    mapOf(
+                        "loader" to loader,
+                        "from" to current.first(),
+                        "to" to current.last(),
+                        "versions" to current,
+                        "output" to currentOutput!!,
+                    ),
+                )
+            }
+            for (version in ordered) {
+                val output = results[version.project]!!.output
+                if (output != currentOutput) {
+                    flush()
+                    current = arrayListOf()
+                    currentOutput = output
+                }
+                current.add(version.project)
+            }
+            flush()
+        }
+
+        println("Results for '$query'")
+        for (range in ranges) {
+            val from = range["from"]
+            val to = range["to"]
+            println((if (from == to) "$from" else "$from .. $to") + ":\n" + range["output"])
+        }
+
+        val report =
+            mapOf(
+                "query" to query,
+                "versions" to results.values.sortedBy { it.version }.associate { result -> result.version to mapOf("output" to result.output, "millis" to result.millis) },
+                "ranges" to ranges,
+            )
+        val file = reportFile.get().asFile
+        file.parentFile.mkdirs()
+        file.writeText(groovy.json.JsonOutput.prettyPrint(groovy.json.JsonOutput.toJson(report)))
+        println("Report written to ${file.absolutePath}")
+    }
+}
+
+tasks.register("symbolDiff") {
+    group = "eternal"
+    description = "Reports which Minecraft classes, fields, and methods the compiled sources of one version use are present, missing, or changed in every version."
+
+    // The version whose compiled classes provide the symbols, defaults to the active one.
+    val source = providers.gradleProperty("symbols.source").orNull ?: stonecutter.current?.project ?: sortedStonecutterVersions.last()
+    val prefixes = providers.gradleProperty("symbols.prefixes").map { it.split(",").joinToString(" ") }.getOrElse("")
+    val workers =
+        providers.gradleProperty("reflection.workers").map { it.toInt() }
+            .getOrElse(maxOf(1, Runtime.getRuntime().availableProcessors() / 2))
+    val reportFile = layout.buildDirectory.file("reflection/symbols.json")
+    val targets = sortedStonecutterVersions.map { version -> reflectionTarget(version) }
+    val classesDir = project(":$source").layout.buildDirectory.dir("classes/java/main").get().asFile
+    dependsOn(sortedStonecutterVersions.map { version -> ":$version:classes" })
+
+    doLast {
+        // Each version caches its answer per set of symbols and classpath jars, so only changed versions rescan.
+        val query = "JSON SYMBOLS ${classesDir.absolutePath} $prefixes".trim()
+
+        val executor = java.util.concurrent.Executors.newFixedThreadPool(workers)
+        val futures =
+            targets.associate { target ->
+                val command = target.command()
+                target.version to executor.submit<String> { runReflectionQuery(target, command, query) }
+            }
+        val statuses = java.util.TreeMap<String, java.util.TreeMap<String, String>>()
+        val found = HashMap<String, HashMap<String, List<String>>>()
+        try {
+            for ((version, future) in futures) {
+                val counts = java.util.TreeMap<String, Int>()
+                for (line in future.get().lines()) {
+                    if (!line.startsWith("{")) {
+                        if (line.isNotBlank()) println("$version: $line")
+                        continue
+                    }
+                    @Suppress("UNCHECKED_CAST")
+                    val result = groovy.json.JsonSlurper().parseText(line) as Map<String, Any?>
+                    val symbol =
+                        listOfNotNull(result["kind"], result["owner"], result["name"], result["descriptor"]).joinToString(" ")
+                    val status = result["status"] as String
+                    statuses.getOrPut(symbol) {
+                        java.util.TreeMap { left, right ->
+                            compareMcVersions(left.substringBeforeLast("-"), right.substringBeforeLast("-")).takeIf { it != 0 } ?: left.compareTo(right)
+                        }
+                    }[version] = status
+                    @Suppress("UNCHECKED_CAST")
+                    if (status == "changed") found.getOrPut(symbol) { HashMap() }[version] = result["found"] as List<String>
+                    counts[status] = (counts[status] ?: 0) + 1
+                }
+                println("$version: " + listOf("present", "missing", "changed").joinToString(", ") { status -> "${counts[status] ?: 0} $status" })
+            }
+        } finally {
+            executor.shutdownNow()
+        }
+
+        println("Symbols used by $source that differ between versions:")
+        for ((symbol, byVersion) in statuses) {
+            val broken = byVersion.filterValues { status -> status != "present" }
+            if (broken.isEmpty()) continue
+            println(" * $symbol")
+            for ((status, versions) in broken.entries.groupBy({ it.value }, { it.key }))
+                println("     $status in ${versions.joinToString(", ")}" + if (status == "changed") " (found: ${found[symbol]!![versions.first()]!!.joinToString(", ")})" else "")
+        }
+
+        val report =
+            mapOf(
+                "source" to source,
+                "symbols" to statuses.mapValues { (symbol, byVersion) -> byVersion.mapValues { (version, status) -> mapOf("status" to status, "found" to (found[symbol]?.get(version) ?: emptyList())) } },
+            )
+        val file = reportFile.get().asFile
+        file.parentFile.mkdirs()
+        file.writeText(groovy.json.JsonOutput.prettyPrint(groovy.json.JsonOutput.toJson(report)))
+        println("Report written to ${file.absolutePath}")
+    }
+}
+
+tasks.register("buildFingerprints") {
+    group = "eternal"
+    description = "Groups versions whose Java sources, compile classpath jars and unexpanded resources hash the same, a diagnostic only."
+
+    val reportFile = layout.buildDirectory.file("reports/fingerprints.json")
+    // The sources, compile classpath and resources of each version, read while configuring so the action only hashes files.
+    val versionInputs =
+        sortedStonecutterVersions.associateWith { version ->
+            val compileJava = project(":$version").tasks.named("compileJava", JavaCompile::class).get()
+            listOf(compileJava.source, compileJava.classpath, project(":$version").tasks.named("processResources", Copy::class).get().source)
+        }
+    // Only what produces the hashed files has to run.
+    dependsOn(versionInputs.values.flatten())
+
+    doLast {
+        fun hash(files: FileTree): String {
+            val digest = java.security.MessageDigest.getInstance("SHA-256")
+            val entries = ArrayList<Pair<String, File>>()
+            files.visit { if (!isDirectory) entries.add(relativePath.pathString to file) }
+            for ((path, file) in entries.sortedBy { it.first }) {
+                digest.update(path.toByteArray())
+                digest.update(file.readBytes())
+            }
+            return digest.digest().joinToString("") { "%02x".format(it) }
+        }
+
+        // Jars are hashed by content only, the same library can sit at different paths for each version.
+        fun hashClasspath(files: FileCollection): String {
+            val digest = java.security.MessageDigest.getInstance("SHA-256")
+            for (file in files.files) {
+                if (file.isDirectory) digest.update(hash(fileTree(file)).toByteArray())
+                else if (file.isFile) file.inputStream().use { input ->
+                    val buffer = ByteArray(1 shl 16)
+                    while (true) {
+                        val read = input.read(buffer)
+                        if (read < 0) break
+                        digest.update(buffer, 0, read)
+                    }
+                }
+            }
+            return digest.digest().joinToString("") { "%02x".format(it) }
+        }
+
+        val fingerprints =
+            versionInputs.mapValues { (_, inputs) ->
+                val (sources, classpath, resources) = inputs
+                mapOf(
+                    "sources" to hash(sources.asFileTree),
+                    "classpath" to hashClasspath(classpath),
+                    "resources" to hash(resources.asFileTree),
+                )
+            }
+
+        val groups = fingerprints.entries.groupBy({ it.value }, { it.key }).values
+        println("${sortedStonecutterVersions.size} versions, ${groups.size} distinct fingerprints.")
+        for (group in groups.filter { it.size > 1 })
+            println(" * ${group.joinToString(", ")} have equal source, classpath and resource hashes")
+        for (part in listOf("sources", "classpath", "resources"))
+            println("Distinct $part: ${fingerprints.values.map { it[part] }.distinct().size}")
+
+        val file = reportFile.get().asFile
+        file.parentFile.mkdirs()
+        file.writeText(groovy.json.JsonOutput.prettyPrint(groovy.json.JsonOutput.toJson(mapOf("versions" to fingerprints, "groups" to groups))))
+        println("Report written to ${file.absolutePath}")
+    }
+}
+
+tasks.register("collectArtifacts") {
+    group = "eternal"
+    description = "Builds every version, links the jars into build/libs, and writes build/libs/manifest.json with the size and checksum of each."
+
+    // Each version links and hashes its own jar, so with parallel builds those run side by side.
+    dependsOn(sortedStonecutterVersions.map { version -> ":$version:collectJar" })
+    val manifestFile = layout.buildDirectory.file("libs/manifest.json")
+    outputs.file(manifestFile)
+    val artifactFiles = sortedStonecutterVersions.map { version -> project(":$version").layout.buildDirectory.file("collect/artifact.json").get().asFile }
+
+    doLast {
+        val artifacts = artifactFiles.map { file -> groovy.json.JsonSlurper().parse(file) }
+        val file = manifestFile.get().asFile
+        file.parentFile.mkdirs()
+        file.writeText(groovy.json.JsonOutput.prettyPrint(groovy.json.JsonOutput.toJson(mapOf("artifacts" to artifacts))))
+        println("Collected ${artifacts.size} jars, manifest written to ${file.absolutePath}")
+    }
+}
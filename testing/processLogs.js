@@ -2,6 +2,8 @@ const fs = require('node:fs')
 const path = require('node:path')
 
 const LOG_DIR = '/home/jackc/Downloads/build/logs'
+/** Reports written by the mod's eternal SelfTest, one per version, preferred over scraping the logs */
+const SELF_TEST_DIR = path.join(LOG_DIR, 'selfTest')
 
 /** @type {Object<string, (log: string, mc: string, loader: string) => ({ passed: true } | { passed: false, error?: string })>} */
 const tests = {
@@ -42,6 +44,19 @@ if (!queriedTests.length) {
   for (const fileName of latestLogFiles) {
     const mc = fileName.match(/^^latest_runClient_([0-9.]+)-[a-z]+/)?.[1] ?? ''
     const loader = fileName.match(/^latest_runClient_[0-9.]+-([a-z]+)/)?.[1] ?? ''
+    const selfTestFile = path.join(SELF_TEST_DIR, `${mc}-${loader}.json`)
+    if (fs.existsSync(selfTestFile)) {
+      const report = JSON.parse(fs.readFileSync(selfTestFile, 'utf8'))
+      results[`${mc}-${loader}`] = Object.fromEntries(
+        Object.keys(tests).map(name => {
+          const check = report.checks[name]
+          if (check === undefined) return [name, { passed: false, error: 'Check was never registered' }]
+          if (check.passed) return [name, { passed: true }]
+          return [name, { passed: false, error: check.error ?? undefined }]
+        })
+      )
+      continue
+    }
     const file = fs.readFileSync(path.join(LOG_DIR, fileName), 'utf8')
     results[`${mc}-${loader}`] = Object.fromEntries(
       Object.entries(tests).map(([name, test]) => {